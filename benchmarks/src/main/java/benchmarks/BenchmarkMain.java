@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the regular JMH command line options, but writes the results
+ * as JSON to {@code jmh-result.json} unless another format or file is given.
+ */
+public class BenchmarkMain {
+
+    // Static Fields
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    // Static Methods
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (! commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        if (! commandLine.getResult().hasValue())
+            options.result(DEFAULT_RESULT_FILE);
+
+        new Runner(options.build()).run();
+    }
+
+}
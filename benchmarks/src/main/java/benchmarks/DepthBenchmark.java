@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+import util.Expression;
+
+/**
+ * Benchmarks parsing, printing, and evaluating expressions of a varying depth,
+ * from shallow expressions up to ones far deeper than the default call stack allows.
+ * The fork runs with a small stack so any recursion left in these paths fails loudly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xss256k" })
+public class DepthBenchmark {
+
+    @Param({ "CHAIN", "NESTED" })
+    public String shape;
+
+    @Param({ "8", "64", "1000", "100000" })
+    public int depth;
+
+    private static final String VARIABLES = "abcd";
+
+    private String expression;
+    private LogicTree tree;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+
+        // A left-leaning chain such as a ^ b v c ^ d
+        if (shape.equals("CHAIN")) {
+            builder.append(VARIABLES.charAt(0));
+            for (int i = 1; i <= depth; i++)
+                builder.append(i % 2 == 0 ? " ^ " : " v ").append(VARIABLES.charAt(i % VARIABLES.length()));
+        }
+
+        // A right-nested expression such as (a ^ (b v (c ^ d)))
+        else {
+            for (int i = 0; i < depth; i++)
+                builder.append("(").append(VARIABLES.charAt(i % VARIABLES.length())).append(i % 2 == 0 ? " ^ " : " v ");
+            builder.append(VARIABLES.charAt(depth % VARIABLES.length()));
+            for (int i = 0; i < depth; i++)
+                builder.append(")");
+        }
+
+        expression = builder.toString();
+        tree = new LogicTree(expression);
+    }
+
+    @Benchmark
+    public Expression parseExpression() {
+        return LogicTree.parseExpression(expression);
+    }
+
+    @Benchmark
+    public String print() {
+        return tree.getRoot().toString();
+    }
+
+    @Benchmark
+    public boolean[] getExpressionTruths() {
+        return tree.getExpressionTruths();
+    }
+
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+
+/**
+ * Benchmarks evaluating the root of an expression for every row of its truth table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluateBenchmark {
+
+    @Param({ "CHAIN", "DNF", "NESTED_NOT" })
+    public Shape shape;
+
+    @Param({ "2", "4", "8", "12", "16", "20" })
+    public int variables;
+
+    private LogicTree tree;
+
+    @Setup
+    public void setup() {
+        tree = new LogicTree(shape.makeExpression(variables));
+    }
+
+    @Benchmark
+    public boolean[] getExpressionTruths() {
+        return tree.getExpressionTruths();
+    }
+
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+import util.Expression;
+
+/**
+ * Benchmarks parsing an expression String into a tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ "CHAIN", "DNF", "NESTED_NOT" })
+    public Shape shape;
+
+    @Param({ "2", "4", "8", "12", "16", "20" })
+    public int variables;
+
+    private String expression;
+
+    @Setup
+    public void setup() {
+        expression = shape.makeExpression(variables);
+    }
+
+    @Benchmark
+    public Expression parseExpression() {
+        return LogicTree.parseExpression(expression);
+    }
+
+}
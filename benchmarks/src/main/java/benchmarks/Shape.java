@@ -0,0 +1,76 @@
+package benchmarks;
+
+/**
+ * The shapes of expressions the benchmarks are run against.
+ */
+public enum Shape {
+
+    /**
+     * A long left-leaning chain of alternating operators, such as {@code a ^ b v c ^ d}.
+     */
+    CHAIN,
+
+    /**
+     * A wide OR of 3-variable AND terms, such as {@code (a ^ ~b ^ c) v (b ^ ~c ^ d)}.
+     */
+    DNF,
+
+    /**
+     * A deeply nested expression where every level is negated, such as {@code ~(a ^ ~(b v ~c))}.
+     */
+    NESTED_NOT;
+
+    // Static Fields
+
+    private static final String VARIABLES = "abcdefghijklmnopqrstuwxyz";
+
+    // Evaluation Methods
+
+    /**
+     * Returns an expression of this shape that uses the specified amount of variables.
+     *
+     * @param variables The amount of variables in the expression.
+     * @return String
+     */
+    public String makeExpression(int variables) {
+        if (variables < 2 || variables > VARIABLES.length())
+            throw new IllegalArgumentException(String.format(
+                "An expression must have between 2 and %d variables.",
+                VARIABLES.length()
+            ));
+
+        StringBuilder expression = new StringBuilder();
+
+        if (this == CHAIN) {
+            expression.append(VARIABLES.charAt(0));
+            for (int i = 1; i < variables; i++)
+                expression.append(i % 2 == 1 ? " ^ " : " v ").append(VARIABLES.charAt(i));
+        }
+
+        // One term starts at every variable and wraps around to the first ones
+        else if (this == DNF) {
+            for (int i = 0; i < variables; i++) {
+                if (i > 0)
+                    expression.append(" v ");
+                expression.append("(")
+                    .append(VARIABLES.charAt(i))
+                    .append(" ^ ~")
+                    .append(VARIABLES.charAt((i + 1) % variables))
+                    .append(" ^ ")
+                    .append(VARIABLES.charAt((i + 2) % variables))
+                    .append(")");
+            }
+        }
+
+        else {
+            for (int i = 0; i < variables - 1; i++)
+                expression.append("~(").append(VARIABLES.charAt(i)).append(i % 2 == 0 ? " ^ " : " v ");
+            expression.append(VARIABLES.charAt(variables - 1));
+            for (int i = 0; i < variables - 1; i++)
+                expression.append(")");
+        }
+
+        return expression.toString();
+    }
+
+}
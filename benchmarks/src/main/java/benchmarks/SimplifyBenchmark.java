@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+import util.Espresso;
+import util.QuineMcCluskey;
+
+/**
+ * Benchmarks simplifying an expression, both through {@link LogicTree#simplify()} and by
+ * running {@link QuineMcCluskey} or {@link Espresso} on its minterms directly. The exact minimizer
+ * grows exponentially with the amount of variables, so this stops at 10 variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplifyBenchmark {
+
+    @Param({ "CHAIN", "DNF", "NESTED_NOT" })
+    public Shape shape;
+
+    @Param({ "2", "4", "6", "8", "10" })
+    public int variables;
+
+    private LogicTree tree;
+    private int[] minterms;
+
+    @Setup
+    public void setup() {
+        tree = new LogicTree(shape.makeExpression(variables));
+        minterms = tree.getMinterms();
+    }
+
+    @Benchmark
+    public String simplify() {
+        return tree.simplify();
+    }
+
+    @Benchmark
+    public String quineMcCluskey() {
+        return new QuineMcCluskey(tree.getVariables(), minterms).getFunction();
+    }
+
+    @Benchmark
+    public String espresso() {
+        return new Espresso(tree.getVariables(), minterms).getFunction();
+    }
+
+}
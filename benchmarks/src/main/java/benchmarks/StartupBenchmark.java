@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+import logic.TreeFile;
+
+/**
+ * Benchmarks loading a set of expressions at startup, either by parsing every expression
+ * or by mapping a {@link TreeFile} that was written from them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({ "CHAIN", "DNF", "NESTED_NOT" })
+    public Shape shape;
+
+    @Param({ "100", "1000" })
+    public int expressions;
+
+    private String[] lines;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        lines = new String[expressions];
+        LogicTree[] trees = new LogicTree[expressions];
+        for (int i = 0; i < expressions; i++) {
+            lines[i] = shape.makeExpression(2 + i % 15);
+            trees[i] = new LogicTree(lines[i]);
+        }
+
+        file = Files.createTempFile("startup", ".jltf");
+        TreeFile.write(file, trees, true, true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public LogicTree[] parse() {
+        LogicTree[] trees = new LogicTree[lines.length];
+        for (int i = 0; i < lines.length; i++)
+            trees[i] = new LogicTree(lines[i]);
+        return trees;
+    }
+
+    @Benchmark
+    public TreeFile map() throws IOException {
+        return TreeFile.map(file);
+    }
+
+    @Benchmark
+    public LogicTree[] mapTrees() throws IOException {
+        return TreeFile.map(file).getTrees();
+    }
+
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicTree;
+import util.Evaluation;
+
+/**
+ * Benchmarks building every truth table column as Evaluation objects, and rendering the truth table.
+ * Both keep an object or a line for every row, so they stop at 16 variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TableBenchmark {
+
+    @Param({ "CHAIN", "DNF", "NESTED_NOT" })
+    public Shape shape;
+
+    @Param({ "2", "4", "8", "12", "16" })
+    public int variables;
+
+    private LogicTree tree;
+
+    @Setup
+    public void setup() {
+        tree = new LogicTree(shape.makeExpression(variables));
+    }
+
+    @Benchmark
+    public LinkedList<Evaluation> getTruthValues() {
+        return tree.getTruthValues();
+    }
+
+    @Benchmark
+    public String[] makeTable() {
+        return tree.makeTable();
+    }
+
+}
@@ -6,7 +6,23 @@ package exceptions;
 public class InvalidExpressionException extends RuntimeException {
     public static final long serialVersionUID = 90505L;
 
+    private int offset;
+
     public InvalidExpressionException(String message) {
+        this(message, -1);
+    }
+
+    public InvalidExpressionException(String message, int offset) {
         super(message);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the character offset in the expression where the problem was found, or -1 if it is unknown.
+     *
+     * @return int
+     */
+    public int getOffset() {
+        return offset;
     }
 }
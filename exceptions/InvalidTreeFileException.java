@@ -0,0 +1,28 @@
+package exceptions;
+
+/**
+ * An Exception that is thrown whenever a binary tree file is damaged or was written in an unknown version
+ */
+public class InvalidTreeFileException extends RuntimeException {
+    public static final long serialVersionUID = 60616L;
+
+    private long offset;
+
+    public InvalidTreeFileException(String message) {
+        this(message, -1);
+    }
+
+    public InvalidTreeFileException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the byte offset in the file where the problem was found, or -1 if it is unknown.
+     *
+     * @return long
+     */
+    public long getOffset() {
+        return offset;
+    }
+}
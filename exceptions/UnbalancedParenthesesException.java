@@ -6,7 +6,23 @@ package exceptions;
 public class UnbalancedParenthesesException extends RuntimeException {
     public static final long serialVersionUID = 211605L;
 
+    private int offset;
+
     public UnbalancedParenthesesException(String message) {
+        this(message, -1);
+    }
+
+    public UnbalancedParenthesesException(String message, int offset) {
         super(message);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the character offset in the expression where the problem was found, or -1 if it is unknown.
+     *
+     * @return int
+     */
+    public int getOffset() {
+        return offset;
     }
 }
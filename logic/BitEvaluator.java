@@ -0,0 +1,439 @@
+package logic;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import exceptions.MissingTruthValueException;
+
+/**
+ * A class used to evaluate a logical expression across every row of its truth table at once.
+ * Each column of the truth table is packed into an array of long words, so one operation
+ * on a word evaluates 64 rows.
+ *
+ * Rows follow the same order as {@link LogicTree#getTruthValues()}: row 0 has every variable
+ * set to True and the last row has every variable set to False.
+ */
+public class BitEvaluator {
+
+    // Static Fields
+
+    public static final int WORD_SIZE = 64;
+    public static final int MAX_VARIABLES = 30;
+
+    /**
+     * The pattern of a variable column inside of a single word, indexed by the power
+     * of the variable. A bit is set wherever the variable is True.
+     */
+    private static final long[] PATTERNS = {
+        0x5555555555555555L,
+        0x3333333333333333L,
+        0x0F0F0F0F0F0F0F0FL,
+        0x00FF00FF00FF00FFL,
+        0x0000FFFF0000FFFFL,
+        0x00000000FFFFFFFFL
+    };
+
+    // Instance Fields
+
+    private String[] variables;
+    private int operatorType;
+    private int rows;
+    private int words;
+    private long lastMask;
+
+    // Constructors
+
+    /**
+     * Creates a new BitEvaluator object.
+     *
+     * @param variables The variables that make up the rows of the truth table, in column order.
+     * @param operatorType The type of operator the subexpression columns are named with.
+     */
+    public BitEvaluator(String[] variables, int operatorType) {
+        if (variables.length > MAX_VARIABLES)
+            throw new IllegalArgumentException(String.format(
+                "A truth table can have at most %d variables.",
+                MAX_VARIABLES
+            ));
+
+        this.variables = variables;
+        this.operatorType = operatorType;
+        this.rows = 1 << variables.length;
+        this.words = (rows + WORD_SIZE - 1) / WORD_SIZE;
+        this.lastMask = rows >= WORD_SIZE ? -1L : (1L << rows) - 1;
+    }
+
+    /**
+     * Creates a new BitEvaluator object that names the subexpression columns in the LOGIC style.
+     *
+     * @param variables The variables that make up the rows of the truth table, in column order.
+     */
+    public BitEvaluator(String[] variables) {
+        this(variables, LogicNode.LOGIC);
+    }
+
+    // Getters
+
+    /**
+     * Returns the variables this BitEvaluator object evaluates with.
+     *
+     * @return String[]
+     */
+    public String[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the amount of rows in the truth table.
+     *
+     * @return int
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the amount of long words needed to hold a single column.
+     *
+     * @return int
+     */
+    public int getWords() {
+        return words;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns the packed column for the variable at the specified index.
+     *
+     * @param index The index of the variable in the variables of this BitEvaluator object.
+     * @return long[]
+     */
+    public long[] getVariableColumn(int index) {
+        return getVariableColumn(index, 0, words);
+    }
+
+    /**
+     * Returns the packed column for the variable at the specified index
+     * over a range of words.
+     *
+     * @param index The index of the variable in the variables of this BitEvaluator object.
+     * @param fromWord The first word to evaluate (inclusive).
+     * @param toWord The last word to evaluate (exclusive).
+     * @return long[]
+     */
+    public long[] getVariableColumn(int index, int fromWord, int toWord) {
+        long[] column = new long[toWord - fromWord];
+        int power = variables.length - index - 1;
+
+        for (int word = fromWord; word < toWord; word++) {
+
+            // Low powers repeat inside of every word, high powers fill entire words
+            long value;
+            if (power < PATTERNS.length)
+                value = PATTERNS[power];
+            else
+                value = ((word >>> (power - PATTERNS.length)) & 1) == 0 ? -1L : 0L;
+
+            column[word - fromWord] = value & getMask(word);
+        }
+
+        return column;
+    }
+
+    /**
+     * Evaluates the specified LogicElement for every row of the truth table.
+     *
+     * @param element The LogicElement to evaluate.
+     * @return long[]
+     */
+    public long[] evaluate(LogicElement element) {
+        return evaluate(element, 0, words);
+    }
+
+    /**
+     * Evaluates the specified LogicElement over a range of words of the truth table.
+     *
+     * @param element The LogicElement to evaluate.
+     * @param fromWord The first word to evaluate (inclusive).
+     * @param toWord The last word to evaluate (exclusive).
+     * @return long[]
+     */
+    public long[] evaluate(LogicElement element, int fromWord, int toWord) {
+        return collect(element, fromWord, toWord, new IdentityHashMap<>());
+    }
+
+    /**
+     * Returns the packed columns of every subexpression in the specified LogicElement.
+     * The columns are keyed by the String representation of each subexpression and are
+     * in the same order {@link LogicElement#getTruthValues} creates them in.
+     * Plain variables are not included; use {@link #getVariableColumn(int)} for those.
+     *
+     * @param root The LogicElement to get the subexpression columns of.
+     * @return LinkedHashMap<String, long[]>
+     */
+    public LinkedHashMap<String, long[]> getColumns(LogicElement root) {
+        return getColumns(root, 0, words);
+    }
+
+    /**
+     * Returns the packed columns of every subexpression in the specified LogicElement
+     * over a range of words of the truth table.
+     *
+     * @param root The LogicElement to get the subexpression columns of.
+     * @param fromWord The first word to evaluate (inclusive).
+     * @param toWord The last word to evaluate (exclusive).
+     * @return LinkedHashMap<String, long[]>
+     */
+    public LinkedHashMap<String, long[]> getColumns(LogicElement root, int fromWord, int toWord) {
+        IdentityHashMap<LogicElement, long[]> evaluated = new IdentityHashMap<>();
+        collect(root, fromWord, toWord, evaluated);
+
+        LinkedHashMap<String, long[]> columns = new LinkedHashMap<>();
+        for (Map.Entry<String, LogicElement> subexpression: getSubexpressions(root).entrySet())
+            columns.put(subexpression.getKey(), evaluated.get(subexpression.getValue()));
+        return columns;
+    }
+
+    /**
+     * Returns every subexpression in the specified LogicElement that gets its own column,
+     * keyed by its String representation. Only the first occurrence of each subexpression is kept,
+     * and each one is only written out once.
+     * The order matches {@link #getColumns(LogicElement)}.
+     *
+     * @param root The LogicElement to get the subexpressions of.
+     * @return LinkedHashMap<String, LogicElement>
+     */
+    public LinkedHashMap<String, LogicElement> getSubexpressions(LogicElement root) {
+        LinkedHashMap<String, LogicElement> subexpressions = new LinkedHashMap<>();
+        addSubexpressions(root, subexpressions);
+        return subexpressions;
+    }
+
+    /**
+     * Evaluates the specified LogicElement over a range of words of the truth table and returns
+     * the column of every element inside of it. Unlike {@link #getColumns(LogicElement, int, int)},
+     * no String representations are made, so this can be called once per block of rows.
+     *
+     * @param root The LogicElement to evaluate.
+     * @param fromWord The first word to evaluate (inclusive).
+     * @param toWord The last word to evaluate (exclusive).
+     * @return IdentityHashMap<LogicElement, long[]>
+     */
+    public IdentityHashMap<LogicElement, long[]> evaluateAll(LogicElement root, int fromWord, int toWord) {
+        IdentityHashMap<LogicElement, long[]> evaluated = new IdentityHashMap<>();
+        collect(root, fromWord, toWord, evaluated);
+        return evaluated;
+    }
+
+    // Helper Methods
+
+    /**
+     * Adds the subexpressions of the specified LogicElement in the order they are evaluated:
+     * the children from left to right, then the LogicElement itself.
+     *
+     * @param root The LogicElement to add the subexpressions of.
+     * @param subexpressions The subexpressions added so far.
+     */
+    private void addSubexpressions(LogicElement root, LinkedHashMap<String, LogicElement> subexpressions) {
+        HashSet<LogicElement> found = new HashSet<>();
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        ArrayDeque<Boolean> sidesAdded = new ArrayDeque<>();
+        pending.push(root);
+        sidesAdded.push(false);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+
+            // Come back to a LogicNode once all of its children have been added
+            //  Equal subexpressions, and everything inside of them, are only added once
+            if (element instanceof LogicNode && ! sidesAdded.pop()) {
+                if (found.contains(element))
+                    continue;
+                LogicNode logicNode = (LogicNode) element;
+                pending.push(logicNode);
+                sidesAdded.push(true);
+                for (int i = logicNode.getChildCount() - 1; i >= 0; i--) {
+                    pending.push(logicNode.getChild(i));
+                    sidesAdded.push(false);
+                }
+                continue;
+            }
+
+            // Plain variables do not get a column of their own
+            if (element instanceof LogicVar) {
+                sidesAdded.pop();
+                if (! element.hasNot())
+                    continue;
+            }
+
+            // The children were written out first, so writing out the element reuses their Strings
+            if (found.add(element))
+                subexpressions.putIfAbsent(element.toString(operatorType), element);
+        }
+    }
+
+    /**
+     * Evaluates the specified LogicElement and records the column of every element inside of it.
+     * Elements that are shared between subexpressions are only evaluated once. The elements
+     * waiting on their children are kept on a stack, so no recursion is needed.
+     *
+     * @param root The LogicElement to evaluate.
+     * @param fromWord The first word to evaluate (inclusive).
+     * @param toWord The last word to evaluate (exclusive).
+     * @param evaluated The columns of the elements evaluated so far.
+     * @return long[]
+     */
+    private long[] collect(LogicElement root, int fromWord, int toWord, IdentityHashMap<LogicElement, long[]> evaluated) {
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.peek();
+
+            // Check if this element has already been evaluated
+            if (evaluated.containsKey(element)) {
+                pending.pop();
+                continue;
+            }
+
+            // Evaluate a variable from its pattern
+            if (element instanceof LogicVar) {
+                LogicVar logicVar = (LogicVar) element;
+                long[] column = getVariableColumn(indexOf(logicVar), fromWord, toWord);
+
+                if (logicVar.hasNot())
+                    negate(column, fromWord);
+
+                evaluated.put(logicVar, column);
+                pending.pop();
+                continue;
+            }
+
+            // Evaluate every child of the node first
+            LogicNode logicNode = (LogicNode) element;
+            boolean childrenDone = true;
+            for (int i = logicNode.getChildCount() - 1; i >= 0; i--) {
+                if (! evaluated.containsKey(logicNode.getChild(i))) {
+                    pending.push(logicNode.getChild(i));
+                    childrenDone = false;
+                }
+            }
+            if (! childrenDone)
+                continue;
+
+            evaluated.put(logicNode, combine(logicNode, evaluated, fromWord));
+            pending.pop();
+        }
+
+        return evaluated.get(root);
+    }
+
+    /**
+     * Combines the columns of every child of a LogicNode word by word.
+     * Chains of ANDs and ORs fold each child into the column in a single loop.
+     *
+     * @param logicNode The LogicNode to evaluate.
+     * @param evaluated The columns of the elements evaluated so far, which hold every child.
+     * @param fromWord The word the columns start at.
+     * @return long[]
+     */
+    private long[] combine(LogicNode logicNode, IdentityHashMap<LogicElement, long[]> evaluated, int fromWord) {
+        long[] left = evaluated.get(logicNode.getLeft());
+        long[] column = new long[left.length];
+
+        int operator = logicNode.getOperatorInt();
+        if (logicNode.getChildCount() > 2) {
+            System.arraycopy(left, 0, column, 0, column.length);
+            for (int child = 1; child < logicNode.getChildCount(); child++) {
+                long[] right = evaluated.get(logicNode.getChild(child));
+                for (int i = 0; i < column.length; i++)
+                    column[i] = operator == LogicNode.AND ? column[i] & right[i] : column[i] | right[i];
+            }
+        }
+
+        else {
+            long[] right = evaluated.get(logicNode.getRight());
+            for (int i = 0; i < column.length; i++) {
+                if (operator == LogicNode.AND)
+                    column[i] = left[i] & right[i];
+                else if (operator == LogicNode.OR)
+                    column[i] = left[i] | right[i];
+                else if (operator == LogicNode.IMPLIES)
+                    column[i] = ~left[i] | right[i];
+                else if (operator == LogicNode.BICONDITIONAL)
+                    column[i] = ~(left[i] ^ right[i]);
+                else if (operator == LogicNode.NAND)
+                    column[i] = ~(left[i] & right[i]);
+                else if (operator == LogicNode.NOR)
+                    column[i] = ~(left[i] | right[i]);
+            }
+        }
+
+        for (int i = 0; i < column.length; i++)
+            column[i] &= getMask(fromWord + i);
+
+        if (logicNode.hasNot())
+            negate(column, fromWord);
+
+        return column;
+    }
+
+    /**
+     * Negates every row in the specified column.
+     *
+     * @param column The column to negate.
+     * @param fromWord The word the column starts at.
+     */
+    private void negate(long[] column, int fromWord) {
+        for (int i = 0; i < column.length; i++)
+            column[i] = ~column[i] & getMask(fromWord + i);
+    }
+
+    /**
+     * Returns the mask of valid rows for the specified word.
+     *
+     * @param word The index of the word.
+     * @return long
+     */
+    private long getMask(int word) {
+        return word == words - 1 ? lastMask : -1L;
+    }
+
+    /**
+     * Returns the index of the specified variable.
+     *
+     * @param logicVar The variable to search for.
+     * @return int
+     * @throws MissingTruthValueException When the variable does not exist in this BitEvaluator object.
+     */
+    private int indexOf(LogicVar logicVar) {
+        int index = logicVar.indexIn(variables);
+        if (index != -1)
+            return index;
+
+        throw new MissingTruthValueException(
+            String.format(
+                "Required truth value for the variable \"%s\".",
+                logicVar.getValue()
+            )
+        );
+    }
+
+    // Static Methods
+
+    /**
+     * Returns the boolean value of a row inside of a packed column.
+     *
+     * @param column The packed column.
+     * @param row The row to get the value of.
+     * @return boolean
+     */
+    public static boolean getValue(long[] column, int row) {
+        return ((column[row / WORD_SIZE] >>> (row % WORD_SIZE)) & 1) == 1;
+    }
+
+}
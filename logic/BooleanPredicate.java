@@ -0,0 +1,13 @@
+package logic;
+
+/**
+ * An interface for a logical expression that can be tested against an assignment
+ * packed into a long, where bit i holds the value of slot i.
+ * Only expressions with at most {@link LogicProgram#MAX_PACKED_VARIABLES} variables fit in a long;
+ * Testing a wider expression throws an IllegalStateException.
+ */
+public interface BooleanPredicate {
+
+    public boolean test(long assignment);
+
+}
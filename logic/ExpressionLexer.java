@@ -0,0 +1,191 @@
+package logic;
+
+import java.util.LinkedList;
+
+import exceptions.InvalidExpressionException;
+
+/**
+ * A class used to split a logical expression into {@link Token}s in a single pass.
+ * Every operator of the PSEUDO, LOGIC, CODE, and BOOLEAN dialects is read directly,
+ * so the expression never has to be rewritten before it is parsed.
+ *
+ * A variable is a letter or underscore followed by any letters, digits, or underscores,
+ * such as {@code a}, {@code clk}, or {@code data_in2}. The word {@code v} is always an OR operator.
+ */
+public class ExpressionLexer {
+
+    // Static Fields
+
+    /**
+     * The operator symbols, with longer symbols before the symbols they start with.
+     */
+    private static final String[] SYMBOLS = {
+        "<->", "->", "-*", "-+", "&&", "||", LogicNode.OPERATORS[LogicNode.LOGIC][LogicNode.NOR],
+        "~", "!", "-", "^", "*", "+", "|", ":", ">", "="
+    };
+
+    private static final int[] SYMBOL_OPERATORS = {
+        LogicNode.BICONDITIONAL, LogicNode.IMPLIES, LogicNode.NAND, LogicNode.NOR, LogicNode.AND, LogicNode.OR, LogicNode.NOR,
+        LogicNode.NOT, LogicNode.NOT, LogicNode.NOT, LogicNode.AND, LogicNode.AND, LogicNode.OR, LogicNode.NAND, LogicNode.NOR, LogicNode.IMPLIES, LogicNode.BICONDITIONAL
+    };
+
+    /**
+     * The operator words. These must be written as whole words.
+     */
+    private static final String[] KEYWORDS = {
+        "NAND", "nand", "NOR", "nor", "OR", "or", "AND", "and",
+        "NOT", "not", "IFF", "iff", "IMPLIES", "implies"
+    };
+
+    private static final int[] KEYWORD_OPERATORS = {
+        LogicNode.NAND, LogicNode.NAND, LogicNode.NOR, LogicNode.NOR, LogicNode.OR, LogicNode.OR, LogicNode.AND, LogicNode.AND,
+        LogicNode.NOT, LogicNode.NOT, LogicNode.BICONDITIONAL, LogicNode.BICONDITIONAL, LogicNode.IMPLIES, LogicNode.IMPLIES
+    };
+
+    // Instance Fields
+
+    private String expression;
+    private int position;
+
+    // Constructors
+
+    /**
+     * Creates a new ExpressionLexer object.
+     *
+     * @param expression The logical expression to split into tokens.
+     */
+    public ExpressionLexer(String expression) {
+        this.expression = expression;
+        this.position = 0;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns every token in the expression. The last token is always an END token.
+     *
+     * @return Token[]
+     * @throws InvalidExpressionException When there is a character that cannot start a token.
+     */
+    public Token[] tokenize() {
+        LinkedList<Token> tokens = new LinkedList<>();
+
+        Token token;
+        do {
+            token = next();
+            tokens.add(token);
+        } while (token.getType() != Token.END);
+
+        return tokens.toArray(new Token[tokens.size()]);
+    }
+
+    /**
+     * Reads the next token in the expression.
+     *
+     * @return Token
+     * @throws InvalidExpressionException When there is a character that cannot start a token.
+     */
+    public Token next() {
+
+        // Skip any spaces between tokens
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position)))
+            position++;
+
+        int offset = position;
+        if (position == expression.length())
+            return new Token(Token.END, "", offset, LogicTree.NONE, LogicTree.NONE);
+
+        char chr = expression.charAt(position);
+
+        if (chr == '(' || chr == ')') {
+            position++;
+            return new Token(chr == '(' ? Token.OPEN : Token.CLOSE, "" + chr, offset, LogicTree.NONE, LogicTree.NONE);
+        }
+
+        for (int i = 0; i < SYMBOLS.length; i++)
+            if (expression.startsWith(SYMBOLS[i], position)) {
+                position += SYMBOLS[i].length();
+                return makeOperator(SYMBOLS[i], offset, SYMBOL_OPERATORS[i]);
+            }
+
+        if (isLetter(chr) || chr == '_')
+            return nextWord();
+
+        if (chr >= '0' && chr <= '9')
+            throw new InvalidExpressionException(String.format(
+                "You cannot use a number as a logical variable. Found \"%s\" at character %d.",
+                chr, offset
+            ), offset);
+
+        throw new InvalidExpressionException(String.format(
+            "That is an invalid expression. Unexpected \"%s\" at character %d.",
+            chr, offset
+        ), offset);
+    }
+
+    // Helper Methods
+
+    /**
+     * Reads an operator word or a variable starting at the current position.
+     *
+     * @return Token
+     */
+    private Token nextWord() {
+        int offset = position;
+        while (position < expression.length() && isWordCharacter(expression.charAt(position)))
+            position++;
+
+        // Operator words must match the whole word
+        String word = expression.substring(offset, position);
+        for (int i = 0; i < KEYWORDS.length; i++)
+            if (KEYWORDS[i].equals(word))
+                return makeOperator(word, offset, KEYWORD_OPERATORS[i]);
+
+        if (word.equals("v"))
+            return makeOperator(word, offset, LogicNode.OR);
+
+        return new Token(Token.VARIABLE, word, offset, LogicTree.NONE, LogicTree.NONE);
+    }
+
+    /**
+     * Returns the token for the specified operator.
+     *
+     * @param text The operator as it appears in the expression.
+     * @param offset The character offset of the operator.
+     * @param operator The LogicNode operator.
+     * @return Token
+     */
+    private Token makeOperator(String text, int offset, int operator) {
+        int inputOperator = LogicTree.NONE;
+        for (int i = 0; i < LogicTree.INPUT_OPERATORS.length; i++)
+            if (LogicTree.INPUT_OPERATORS[i].equals(text)) {
+                inputOperator = i;
+                break;
+            }
+
+        if (operator == LogicNode.NOT)
+            return new Token(Token.NOT, text, offset, LogicTree.NONE, inputOperator);
+        return new Token(Token.OPERATOR, text, offset, operator, inputOperator);
+    }
+
+    /**
+     * Returns whether or not the specified character is an ASCII letter.
+     *
+     * @param chr The character to check.
+     * @return boolean
+     */
+    private static boolean isLetter(char chr) {
+        return (chr >= 'a' && chr <= 'z') || (chr >= 'A' && chr <= 'Z');
+    }
+
+    /**
+     * Returns whether or not the specified character can be part of a variable or operator word.
+     *
+     * @param chr The character to check.
+     * @return boolean
+     */
+    private static boolean isWordCharacter(char chr) {
+        return isLetter(chr) || (chr >= '0' && chr <= '9') || chr == '_';
+    }
+
+}
@@ -0,0 +1,225 @@
+package logic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import exceptions.InvalidExpressionException;
+import exceptions.UnbalancedParenthesesException;
+
+import util.Expression;
+import util.LoadResult;
+
+/**
+ * A class used to load many logical expressions at once, one expression per line.
+ * The lines are read through a buffer and then parsed across multiple cores on a ForkJoinPool.
+ * Every expression is parsed with the same {@link NodeFactory}, so the variable symbols and
+ * identical subexpressions are shared between every LogicTree that is loaded.
+ *
+ * Each line is parsed into its own place in the result, so the results always come out in
+ * the same order as the lines. A line that cannot be parsed keeps its exception instead of
+ * stopping the load. Blank lines are skipped.
+ */
+public class ExpressionLoader {
+
+    // Static Fields
+
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 64;
+
+    // Instance Fields
+
+    private ForkJoinPool pool;
+    private NodeFactory factory;
+    private int sequentialCutoff;
+
+    // Constructors
+
+    /**
+     * Creates a new ExpressionLoader object.
+     *
+     * @param pool The ForkJoinPool to parse on.
+     * @param factory The NodeFactory to create every LogicElement with.
+     * @param sequentialCutoff The amount of lines below which a range is parsed without splitting it.
+     */
+    public ExpressionLoader(ForkJoinPool pool, NodeFactory factory, int sequentialCutoff) {
+        this.pool = pool;
+        this.factory = factory;
+        this.sequentialCutoff = Math.max(sequentialCutoff, 1);
+    }
+
+    /**
+     * Creates a new ExpressionLoader object with its own ForkJoinPool.
+     *
+     * @param parallelism The amount of threads to parse with.
+     * @param factory The NodeFactory to create every LogicElement with.
+     */
+    public ExpressionLoader(int parallelism, NodeFactory factory) {
+        this(new ForkJoinPool(parallelism), factory, DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    /**
+     * Creates a new ExpressionLoader object that parses on the common ForkJoinPool with a new NodeFactory.
+     */
+    public ExpressionLoader() {
+        this(ForkJoinPool.commonPool(), new NodeFactory(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    // Getters
+
+    /**
+     * Returns the ForkJoinPool this ExpressionLoader object parses on.
+     *
+     * @return ForkJoinPool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the NodeFactory shared by every expression this ExpressionLoader object loads.
+     *
+     * @return NodeFactory
+     */
+    public NodeFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Returns the SymbolTable shared by every expression this ExpressionLoader object loads.
+     *
+     * @return SymbolTable
+     */
+    public SymbolTable getSymbolTable() {
+        return factory.getSymbolTable();
+    }
+
+    /**
+     * Returns the amount of lines below which a range is parsed without splitting it.
+     *
+     * @return int
+     */
+    public int getSequentialCutoff() {
+        return sequentialCutoff;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Loads every expression in the specified UTF-8 file.
+     *
+     * @param path The file with one expression per line.
+     * @return LoadResult[]
+     * @throws IOException When the file cannot be read.
+     */
+    public LoadResult[] load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads every expression read from the specified Reader. The Reader is not closed.
+     *
+     * @param reader The Reader with one expression per line.
+     * @return LoadResult[]
+     * @throws IOException When the Reader cannot be read.
+     */
+    public LoadResult[] load(Reader reader) throws IOException {
+        BufferedReader lineReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+
+        // Keep track of the line each expression was on
+        ArrayList<String> expressions = new ArrayList<>();
+        ArrayList<Integer> lineNumbers = new ArrayList<>();
+        int lineNumber = 0;
+
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty())
+                continue;
+
+            expressions.add(line);
+            lineNumbers.add(lineNumber);
+        }
+
+        LoadResult[] results = new LoadResult[expressions.size()];
+        pool.invoke(new LoadTask(expressions, lineNumbers, results, 0, results.length));
+        return results;
+    }
+
+    // Helper Methods
+
+    /**
+     * Parses a single expression into its LoadResult.
+     *
+     * @param lineNumber The line the expression was on.
+     * @param expression The expression to parse.
+     * @return LoadResult
+     */
+    private LoadResult parse(int lineNumber, String expression) {
+        try {
+            Expression exp = LogicTree.parseExpression(expression, false, LogicTree.NONE, factory);
+            return new LoadResult(lineNumber, expression, new LogicTree(exp), null);
+        }
+        catch (InvalidExpressionException | UnbalancedParenthesesException exception) {
+            return new LoadResult(lineNumber, expression, null, exception);
+        }
+    }
+
+    // Helper Classes
+
+    /**
+     * A task that parses a range of lines, splitting it in half until it is
+     * below the sequential cutoff. Each line is parsed into its own place in the results.
+     */
+    private class LoadTask extends RecursiveAction {
+
+        public static final long serialVersionUID = 60614L;
+
+        private ArrayList<String> expressions;
+        private ArrayList<Integer> lineNumbers;
+        private LoadResult[] results;
+        private int from;
+        private int to;
+
+        /**
+         * Creates a new LoadTask object.
+         *
+         * @param expressions The expressions of every line.
+         * @param lineNumbers The line each expression was on.
+         * @param results The results of every line.
+         * @param from The first line to parse (inclusive).
+         * @param to The last line to parse (exclusive).
+         */
+        public LoadTask(ArrayList<String> expressions, ArrayList<Integer> lineNumbers, LoadResult[] results, int from, int to) {
+            this.expressions = expressions;
+            this.lineNumbers = lineNumbers;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+
+            // Split the range in half until it is small enough
+            if (to - from > sequentialCutoff) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new LoadTask(expressions, lineNumbers, results, from, middle),
+                    new LoadTask(expressions, lineNumbers, results, middle, to)
+                );
+                return;
+            }
+
+            for (int i = from; i < to; i++)
+                results[i] = parse(lineNumbers.get(i), expressions.get(i));
+        }
+    }
+
+}
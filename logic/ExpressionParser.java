@@ -0,0 +1,323 @@
+package logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import exceptions.InvalidExpressionException;
+import exceptions.UnbalancedParenthesesException;
+
+import util.Expression;
+
+/**
+ * A class used to parse a logical expression into a tree of {@link LogicElement}s.
+ * The expression is read once by an {@link ExpressionLexer} and then parsed with
+ * binding powers, so the time it takes grows linearly with the expression.
+ * Pending operands and operators are kept on explicit stacks instead of the call stack,
+ * so deeply nested expressions are only limited by the heap.
+ *
+ * NOT operators bind tighter than every binary operator. Every binary operator binds
+ * equally tightly, so chains such as {@code a ^ b v c} are read from left to right.
+ * A chain of the same AND or OR operator without parentheses in between, such as
+ * {@code a v b v c}, becomes a single LogicNode with every operand as a child.
+ */
+public class ExpressionParser {
+
+    // Static Fields
+
+    /**
+     * The binding power of each LogicNode operator.
+     */
+    private static final int[] BINDING_POWERS = {
+        0, // NOT is a prefix operator
+        1, // AND
+        1, // OR
+        1, // IMPLIES
+        1, // BICONDITIONAL
+        1, // NAND
+        1  // NOR
+    };
+
+    // Instance Fields
+
+    private String expression;
+    private NodeFactory factory;
+    private ArrayList<String> variables;
+
+    // Constructors
+
+    /**
+     * Creates a new ExpressionParser object.
+     *
+     * @param expression The logical expression to parse.
+     * @param factory The NodeFactory to create every LogicElement with.
+     */
+    public ExpressionParser(String expression, NodeFactory factory) {
+        this.expression = expression;
+        this.factory = factory;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Parses the expression held in this ExpressionParser object.
+     *
+     * @param hasNot Whether or not the entire expression has a NOT operator attached to it.
+     * @param operatorType The type of operator the expression is written with, or LogicTree.NONE to find it from the expression.
+     * @return Expression
+     * @throws InvalidExpressionException When the expression is not a valid logical expression.
+     * @throws UnbalancedParenthesesException When a parenthesis is never opened or never closed.
+     */
+    public Expression parse(boolean hasNot, int operatorType) {
+        Token[] tokens = new ExpressionLexer(expression).tokenize();
+        this.variables = new ArrayList<>();
+        HashSet<String> found = new HashSet<>();
+
+        // Expressions are written in the PSEUDO, LOGIC, or CODE style
+        if (operatorType == LogicTree.NONE)
+            operatorType = findOperatorType(tokens);
+        if (operatorType < LogicNode.PSEUDO || operatorType > LogicNode.CODE)
+            operatorType = LogicNode.LOGIC;
+
+        if (tokens[0].getType() == Token.END)
+            throw new InvalidExpressionException("That is an invalid expression. The expression is empty.", 0);
+
+        // Operands wait on one stack while the operators and open parentheses around them wait on another
+        ArrayDeque<Operand> operands = new ArrayDeque<>();
+        ArrayDeque<Token> operators = new ArrayDeque<>();
+        int depth = 0;
+        boolean expectOperand = true;
+
+        for (Token token: tokens) {
+
+            if (expectOperand) {
+                if (token.getType() == Token.NOT || token.getType() == Token.OPEN) {
+                    if (token.getType() == Token.OPEN)
+                        depth++;
+                    operators.push(token);
+                }
+
+                else if (token.getType() == Token.VARIABLE) {
+                    if (found.add(token.getText()))
+                        variables.add(token.getText());
+                    operands.push(new Operand(factory.makeVar(token.getText(), false)));
+                    expectOperand = false;
+                }
+
+                else
+                    throw unexpected(token, "a variable");
+            }
+
+            // Finish every operator to the left that binds at least as tightly
+            else if (token.getType() == Token.OPERATOR) {
+                int bindingPower = BINDING_POWERS[token.getOperator()];
+                while (! operators.isEmpty() && operators.peek().getType() != Token.OPEN && getBindingPower(operators.peek()) >= bindingPower)
+                    reduce(operators.pop(), operands);
+                operators.push(token);
+                expectOperand = true;
+            }
+
+            // Finish everything inside of the parentheses
+            else if (token.getType() == Token.CLOSE) {
+                if (depth == 0)
+                    throw new UnbalancedParenthesesException(String.format(
+                        "You have a missing parenthesis somewhere. The \")\" at character %d is never opened.",
+                        token.getOffset()
+                    ), token.getOffset());
+
+                while (operators.peek().getType() != Token.OPEN)
+                    reduce(operators.pop(), operands);
+                operators.pop();
+                depth--;
+
+                // Chains never continue past their parentheses
+                finish(operands.peek());
+            }
+
+            else if (token.getType() == Token.END) {
+                while (! operators.isEmpty()) {
+                    Token operator = operators.pop();
+                    if (operator.getType() == Token.OPEN)
+                        throw new UnbalancedParenthesesException(String.format(
+                            "You have a missing parenthesis somewhere. The \"(\" at character %d is never closed.",
+                            operator.getOffset()
+                        ), operator.getOffset());
+                    reduce(operator, operands);
+                }
+            }
+
+            else
+                throw unexpected(token, depth > 0 ? "an operator or \")\"" : "an operator");
+        }
+
+        LogicElement root = finish(operands.pop());
+        if (hasNot)
+            root = negate(root);
+
+        // The variables are sorted in the same order as the columns of a truth table and each is given its symbol
+        variables.sort(LogicTree.COLUMN_ORDER);
+        String[] names = variables.toArray(new String[variables.size()]);
+        int[] symbols = new int[names.length];
+        for (int i = 0; i < names.length; i++)
+            symbols[i] = factory.getSymbolTable().intern(names[i]);
+
+        return new Expression(root, names, symbols, factory.getSymbolTable(), operatorType, root instanceof LogicVar);
+    }
+
+    // Helper Methods
+
+    /**
+     * Applies an operator to the operands on top of the operand stack.
+     *
+     * @param operator The NOT or binary operator token.
+     * @param operands The operand stack.
+     */
+    private void reduce(Token operator, ArrayDeque<Operand> operands) {
+        if (operator.getType() == Token.NOT) {
+            operands.push(new Operand(negate(finish(operands.pop()))));
+            return;
+        }
+
+        Operand right = operands.pop();
+        Operand left = operands.pop();
+        int op = operator.getOperator();
+
+        // Only AND and OR chains are kept open for more children
+        if (op != LogicNode.AND && op != LogicNode.OR)
+            operands.push(new Operand(factory.makeNode(finish(left), op, finish(right), false)));
+
+        else if (left.children != null && left.operator == op) {
+            left.children.add(finish(right));
+            operands.push(left);
+        }
+
+        else
+            operands.push(new Operand(op, finish(left), finish(right)));
+    }
+
+    /**
+     * Returns the LogicElement of an operand, making the LogicNode of its chain if it is still open.
+     *
+     * @param operand The operand to finish.
+     * @return LogicElement
+     */
+    private LogicElement finish(Operand operand) {
+        if (operand.children != null) {
+            operand.element = factory.makeNode(operand.operator, operand.children.toArray(new LogicElement[operand.children.size()]), false);
+            operand.children = null;
+        }
+        return operand.element;
+    }
+
+    /**
+     * Returns the binding power of a NOT or binary operator token.
+     * NOT operators bind tighter than every binary operator.
+     *
+     * @param operator The operator token.
+     * @return int
+     */
+    private static int getBindingPower(Token operator) {
+        if (operator.getType() == Token.NOT)
+            return Integer.MAX_VALUE;
+        return BINDING_POWERS[operator.getOperator()];
+    }
+
+    /**
+     * Returns the specified LogicElement with its NOT operator flipped.
+     *
+     * @param element The LogicElement to negate.
+     * @return LogicElement
+     */
+    private LogicElement negate(LogicElement element) {
+        if (element instanceof LogicVar) {
+            LogicVar logicVar = (LogicVar) element;
+            return factory.makeVar(logicVar.getValue(), ! logicVar.hasNot());
+        }
+
+        LogicNode logicNode = (LogicNode) element;
+        return factory.makeNode(
+            logicNode.getOperatorInt(),
+            logicNode.getChildren(),
+            ! logicNode.hasNot()
+        );
+    }
+
+    /**
+     * Returns the exception for a token that was not expected.
+     *
+     * @param token The token that was found.
+     * @param expected What was expected instead of the token.
+     * @return InvalidExpressionException
+     */
+    private InvalidExpressionException unexpected(Token token, String expected) {
+        return new InvalidExpressionException(String.format(
+            "That is an invalid expression. Expected %s but found %s at character %d.",
+            expected, token, token.getOffset()
+        ), token.getOffset());
+    }
+
+    // Helper Classes
+
+    /**
+     * An operand waiting on the operand stack. It is either a finished LogicElement or an
+     * open chain of AND or OR children that the next operator of the same kind can add to.
+     */
+    private static class Operand {
+
+        private LogicElement element;
+        private int operator;
+        private ArrayList<LogicElement> children;
+
+        /**
+         * Creates a new Operand object for a finished LogicElement.
+         *
+         * @param element The LogicElement.
+         */
+        public Operand(LogicElement element) {
+            this.element = element;
+        }
+
+        /**
+         * Creates a new Operand object for an open chain.
+         *
+         * @param operator The AND or OR operator of the chain.
+         * @param left The first child of the chain.
+         * @param right The second child of the chain.
+         */
+        public Operand(int operator, LogicElement left, LogicElement right) {
+            this.operator = operator;
+            this.children = new ArrayList<>();
+            this.children.add(left);
+            this.children.add(right);
+        }
+    }
+
+    // Static Methods
+
+    /**
+     * Returns the type of operator for an expression. The type comes from the operator
+     * found earliest in {@link LogicTree#INPUT_OPERATORS}, so "a or b && c" is a PSEUDO expression.
+     *
+     * @param tokens The tokens of the expression.
+     * @return int
+     */
+    private static int findOperatorType(Token[] tokens) {
+        int first = LogicTree.NONE;
+        for (Token token: tokens)
+            if (token.getInputOperator() != LogicTree.NONE && (first == LogicTree.NONE || token.getInputOperator() < first))
+                first = token.getInputOperator();
+
+        // Expressions with only LOGIC symbols keep the default type
+        if (first == LogicTree.NONE)
+            return LogicTree.NONE;
+
+        int[] operatorTypes = {LogicNode.PSEUDO, LogicNode.LOGIC, LogicNode.CODE};
+        for (int opType: operatorTypes)
+            for (String operator: LogicNode.OPERATORS[opType])
+                if (LogicTree.INPUT_OPERATORS[first].equals(operator))
+                    return opType;
+
+        return LogicNode.LOGIC;
+    }
+
+}
@@ -1,19 +1,24 @@
 package logic;
 
 import java.util.LinkedList;
+import util.Assignment;
 import util.Evaluation;
 import util.TruthValue;
 
 /**
  * An interface used to allow for flexibility inside the parseExpression method in {@link LogicTree}.
+ * LogicElements never change once they are made, so they can be shared freely between trees and threads.
+ * The type of operator is not part of a LogicElement; It is given when the LogicElement is written out.
  */
 public interface LogicElement {
 
-    public int getOperatorType();
-    public void setOperatorType(int operatorType);
+    public int getId();
     public boolean hasNot();
     public String getNot();
+    public String toString(int operatorType);
     public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues);
+    public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues, int operatorType);
     public boolean evaluate(TruthValue truthValue);
+    public boolean evaluate(Assignment assignment);
 
 }
\ No newline at end of file
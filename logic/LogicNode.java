@@ -1,9 +1,13 @@
 package logic;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 
 import logic.LogicVar;
 
+import util.Assignment;
 import util.Evaluation;
 import util.TruthValue;
 
@@ -33,46 +37,58 @@ public class LogicNode implements LogicElement {
 
     // Instance Fields
 
-    private LogicElement left;
-    private LogicElement right;
-    private int operator;
-    private int operatorType;
-    private boolean hasNot;
+    private final LogicElement[] children;
+    private final int operator;
+    private final boolean hasNot;
+    private final int id;
+    private final int hashCode;
+
+    // Each String is only written once it is complete and Strings never change, so threads
+    // that race to write the same style only make the same String twice
+    private final String[] strings = new String[CODE + 1];
     
     // Constructors
 
     /**
-     * Creates a new LogicNode object.
+     * Creates a new LogicNode object with the id given by a {@link NodeFactory}.
+     * The children are not copied.
      *
-     * @param left The LogicElement that is on the left side of the expression.
      * @param operator The operator that this LogicNode object holds.
-     * @param right The LogicElement that is on the right side of the expression.
+     * @param children The LogicElements the operator is applied to, from left to right.
      * @param hasNot Whether or not the entire LogicNode has a NOT operator attached to it.
-     * @param operatorType The type of operator this LogicNode has.
+     * @param id The id of this LogicNode object, or -1 if it has none.
+     * @throws IllegalArgumentException When there are fewer than 2 children, or more than 2 for an operator other than AND and OR.
      */
-    public LogicNode(LogicElement left, int operator, LogicElement right, boolean hasNot, int operatorType) {
-        this.left = left;
+    LogicNode(int operator, LogicElement[] children, boolean hasNot, int id) {
+        if (children.length < 2 || (children.length > 2 && operator != AND && operator != OR))
+            throw new IllegalArgumentException(String.format(
+                "A LogicNode with the operator %s cannot have %d children.",
+                OPERATORS[LOGIC][operator], children.length
+            ));
+
+        this.children = children;
         this.operator = operator;
-        this.right = right;
         this.hasNot = hasNot;
-        if (operatorType < 0 || operatorType > 2)
-            operatorType = LOGIC;
-        this.operatorType = operatorType;
+        this.id = id;
 
-        this.left.setOperatorType(operatorType);
-        this.right.setOperatorType(operatorType);
+        // The children never change, so the hash code only needs to be found once
+        int hash = children[0].hashCode() * 31 + operator;
+        for (int i = 1; i < children.length; i++)
+            hash = hash * 31 + children[i].hashCode();
+        this.hashCode = hash * 31 + (hasNot ? 1 : 0);
     }
 
     /**
-     * Creates a new LogicNode object.
+     * Creates a new LogicNode object that applies an operator to a chain of children,
+     * such as {@code a v b v c}. Only AND and OR can have more than 2 children.
      *
-     * @param left The LogicElement that is on the left side of the expression.
      * @param operator The operator that this LogicNode object holds.
-     * @param right The LogicElement that is on the right side of the expression.
+     * @param children The LogicElements the operator is applied to, from left to right.
      * @param hasNot Whether or not the entire LogicNode has a NOT operator attached to it.
+     * @throws IllegalArgumentException When there are fewer than 2 children, or more than 2 for an operator other than AND and OR.
      */
-    public LogicNode(LogicElement left, int operator, LogicElement right, boolean hasNot) {
-        this(left, operator, right, hasNot, LOGIC);
+    public LogicNode(int operator, LogicElement[] children, boolean hasNot) {
+        this(operator, children.clone(), hasNot, -1);
     }
 
     /**
@@ -81,10 +97,10 @@ public class LogicNode implements LogicElement {
      * @param left The LogicElement that is on the left side of the expression.
      * @param operator The operator that this LogicNode object holds.
      * @param right The LogicElement that is on the right side of the expression.
-     * @param operatorType The type of operator this LogicNode has.
+     * @param hasNot Whether or not the entire LogicNode has a NOT operator attached to it.
      */
-    public LogicNode(LogicElement left, int operator, LogicElement right, int operatorType) {
-        this(left, operator, right, false, operatorType);
+    public LogicNode(LogicElement left, int operator, LogicElement right, boolean hasNot) {
+        this(operator, new LogicElement[] { left, right }, hasNot, -1);
     }
 
     /**
@@ -95,7 +111,7 @@ public class LogicNode implements LogicElement {
      * @param right The LogicElement that is on the right side of the expression.
      */
     public LogicNode(LogicElement left, int operator, LogicElement right) {
-        this(left, operator, right, false, LOGIC);
+        this(operator, new LogicElement[] { left, right }, false, -1);
     }
 
     // Getters
@@ -106,16 +122,55 @@ public class LogicNode implements LogicElement {
      * @return LogicElement
      */
     public LogicElement getLeft() {
-        return left;
+        return children[0];
     }
 
     /**
      * Returns the LogicElement on the right side of the expression.
+     * For a chain of more than 2 children, this is the last child.
      *
      * @return LogicElement
      */
     public LogicElement getRight() {
-        return right;
+        return children[children.length - 1];
+    }
+
+    /**
+     * Returns the amount of children this LogicNode object applies its operator to.
+     * This is 2 unless this LogicNode object is a chain of ANDs or ORs.
+     *
+     * @return int
+     */
+    public int getChildCount() {
+        return children.length;
+    }
+
+    /**
+     * Returns the child at the specified index, counting from the left.
+     *
+     * @param index The index of the child.
+     * @return LogicElement
+     */
+    public LogicElement getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * Returns a copy of the children this LogicNode object applies its operator to, from left to right.
+     *
+     * @return LogicElement[]
+     */
+    public LogicElement[] getChildren() {
+        return children.clone();
+    }
+
+    /**
+     * Returns the id this LogicNode object was given by a {@link NodeFactory}, or -1 if it has none.
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -128,21 +183,23 @@ public class LogicNode implements LogicElement {
     }
 
     /**
-     * Returns the type of operator that this LogicNode object has.
+     * Returns the operator of this LogicNode object as a String in the LOGIC style.
      *
-     * @return int
+     * @return String
      */
-    public int getOperatorType() {
-        return operatorType;
+    public String getOperator() {
+        return getOperator(LOGIC);
     }
 
     /**
-     * Returns the operator of this LogicNode object as a String.
+     * Returns the operator of this LogicNode object as a String in the specified style.
+     * Styles other than PSEUDO, LOGIC, and CODE are written in the LOGIC style.
      *
+     * @param operatorType The type of operator to write.
      * @return String
      */
-    public String getOperator() {
-        return OPERATORS[operatorType][operator];
+    public String getOperator(int operatorType) {
+        return OPERATORS[getStyle(operatorType)][operator];
     }
 
     /**
@@ -155,65 +212,75 @@ public class LogicNode implements LogicElement {
     }
 
     /**
-     * Returns the NOT operator of this LogicNode object as a String.
+     * Returns the NOT operator as a String in the LOGIC style.
      * 
      * @return String
      */
     public String getNot() {
-        return OPERATORS[operatorType][NOT];
+        return getNot(LOGIC);
     }
 
-    // Setter Methods
-
     /**
-     * Sets the type of operator that this LogicNode object has.
+     * Returns the NOT operator as a String in the specified style.
+     * Styles other than PSEUDO, LOGIC, and CODE are written in the LOGIC style.
      *
-     * @param operatorType The type of operator
+     * @param operatorType The type of operator to write.
+     * @return String
      */
-    public void setOperatorType(int operatorType) {
-        this.operatorType = operatorType;
+    public String getNot(int operatorType) {
+        return OPERATORS[getStyle(operatorType)][NOT];
     }
 
     // Evaluation Methods
 
     /**
-     * Creates the truth value evaluations for this LogicNode object.
+     * Creates the truth value evaluations for this LogicNode object, written in the LOGIC style.
      * 
      * @param truthValues A LinkedList of TruthValue objects to use to evaluate this LogicNode object with.
      * @return LinkedList<Evaluation>
      */
     public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues) {
+        return getTruthValues(truthValues, LOGIC);
+    }
+
+    /**
+     * Creates the truth value evaluations for this LogicNode object.
+     * The evaluations of the children come first, from left to right, then this LogicNode object.
+     * 
+     * @param truthValues A LinkedList of TruthValue objects to use to evaluate this LogicNode object with.
+     * @param operatorType The type of operator to write the subexpressions with.
+     * @return LinkedList<Evaluation>
+     */
+    public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues, int operatorType) {
 
         // Keep track of evaluations
         LinkedList<Evaluation> evaluations = new LinkedList<>();
 
-        // Get all left evaluations
-        LinkedList<Evaluation> leftEvaluations = getLeft().getTruthValues(truthValues);
-        //  Then add all evaluations as long as they don't exist in the evaluations already
-        for (int i = 0; i < leftEvaluations.size(); i++)
-            if (! evaluations.contains(leftEvaluations.get(i)))
-                evaluations.add(leftEvaluations.get(i));
-
-        // Get all right evaluations
-        LinkedList<Evaluation> rightEvaluations = getRight().getTruthValues(truthValues);
-        //  Then add all evaluations as long as they don't exist in the evaluations already
-        for (int i = 0; i < rightEvaluations.size(); i++)
-            if (! evaluations.contains(rightEvaluations.get(i)))
-                evaluations.add(rightEvaluations.get(i));
-
-        // Get self evaluation
-        //  Iterate through all truth values in the truthValues LinkedList
-        //  Only add evaluations that don't already exist
-        for (int i = 0; i < truthValues.size(); i++) {
-
-            Evaluation evaluation = new Evaluation(
-                "" + this,
-                truthValues.get(i),
-                evaluate(truthValues.get(i))
-            );
-
-            if (! evaluations.contains(evaluation))
-                evaluations.add(evaluation);
+        // Evaluate every element for every truth value once, from the bottom up
+        LogicElement[] elements = postOrder(this);
+        boolean[][] values = new boolean[truthValues.size()][];
+        int row = 0;
+        for (TruthValue truthValue: truthValues)
+            values[row++] = evaluateAll(elements, truthValue, null);
+
+        // Subexpressions that appear more than once already have their evaluations
+        HashSet<LogicElement> found = new HashSet<>();
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] instanceof LogicVar && ! elements[i].hasNot())
+                continue;
+            if (! found.add(elements[i]))
+                continue;
+
+            //  Only add evaluations that don't already exist
+            String expression = elements[i].toString(operatorType);
+            LinkedList<Evaluation> own = new LinkedList<>();
+            row = 0;
+            for (TruthValue truthValue: truthValues) {
+                Evaluation evaluation = new Evaluation(elements[i].getId(), expression, truthValue, values[row++][i]);
+                if (! own.contains(evaluation))
+                    own.add(evaluation);
+            }
+            evaluations.addAll(own);
         }
 
         return evaluations;
@@ -222,77 +289,362 @@ public class LogicNode implements LogicElement {
     /**
      * Evaluates this LogicNode object with the specified truth value
      *
-     * @param truthValue The TruthValue object to use to evaluate the left and right sides of this LogicNode object.
+     * @param truthValue The TruthValue object to use to evaluate the children of this LogicNode object.
      * @return boolean
      */
     public boolean evaluate(TruthValue truthValue) {
+        return evaluate(truthValue, null);
+    }
+
+    /**
+     * Evaluates this LogicNode object with the specified assignment
+     *
+     * @param assignment The Assignment object to use to evaluate the children of this LogicNode object.
+     * @return boolean
+     */
+    public boolean evaluate(Assignment assignment) {
+        return evaluate(null, assignment);
+    }
 
-        // Get left and right evaluations
-        boolean left = getLeft().evaluate(truthValue);
-        boolean right = getRight().evaluate(truthValue);
+    // Helper Methods
 
+    /**
+     * Evaluates this LogicNode object with either a truth value or an assignment.
+     * The children of each LogicNode are evaluated from left to right and the rest are
+     * skipped as soon as the value is known, such as after the first False child of an AND.
+     * The LogicNodes waiting on their children are kept on a stack, so no recursion is needed.
+     *
+     * @param truthValue The TruthValue object to evaluate the variables with, or null to use the assignment.
+     * @param assignment The Assignment object to evaluate the variables with.
+     * @return boolean
+     */
+    private boolean evaluate(TruthValue truthValue, Assignment assignment) {
+        ArrayDeque<Frame> pending = new ArrayDeque<>();
+        pending.push(new Frame(this));
         boolean value = false;
+        boolean returned = false;
+
+        while (true) {
+            Frame frame = pending.peek();
+
+            // Fold the value of the child that was just evaluated into its parent
+            if (returned) {
+                frame.value = frame.next == 1 ? value : frame.node.combine(frame.value, value);
+                if (frame.node.isDecided(frame.value))
+                    frame.next = frame.node.children.length;
+                returned = false;
+            }
+
+            if (frame.next == frame.node.children.length) {
+                pending.pop();
+                value = frame.node.finish(frame.value);
+                if (pending.isEmpty())
+                    return value;
+                returned = true;
+                continue;
+            }
+
+            LogicElement child = frame.node.children[frame.next++];
+            if (child instanceof LogicNode)
+                pending.push(new Frame((LogicNode) child));
+            else {
+                value = truthValue != null ? child.evaluate(truthValue) : child.evaluate(assignment);
+                returned = true;
+            }
+        }
+    }
+
+    /**
+     * Evaluates every element of a tree in post order with either a truth value or an assignment.
+     * The values of the children are kept on a stack, so no recursion is needed.
+     *
+     * @param elements The elements of the tree in post order.
+     * @param truthValue The TruthValue object to evaluate the variables with, or null to use the assignment.
+     * @param assignment The Assignment object to evaluate the variables with.
+     * @return boolean[]
+     */
+    private static boolean[] evaluateAll(LogicElement[] elements, TruthValue truthValue, Assignment assignment) {
+        boolean[] values = new boolean[elements.length];
+        boolean[] stack = new boolean[elements.length];
+        int top = -1;
+
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] instanceof LogicVar) {
+                LogicElement logicVar = elements[i];
+                stack[++top] = truthValue != null ? logicVar.evaluate(truthValue) : logicVar.evaluate(assignment);
+            }
+
+            // The children are on top of the stack, with the first child deepest
+            else {
+                LogicNode logicNode = (LogicNode) elements[i];
+                top -= logicNode.children.length - 1;
+                boolean value = stack[top];
+                for (int j = 1; j < logicNode.children.length; j++)
+                    value = logicNode.combine(value, stack[top + j]);
+                stack[top] = logicNode.finish(value);
+            }
+
+            values[i] = stack[top];
+        }
 
-        if (operator == AND)
-            value = left && right;
-        else if (operator == OR)
-            value = left || right;
+        return values;
+    }
+
+    /**
+     * Returns every element of the specified tree in post order, so the children of
+     * each LogicNode come before it. Shared subexpressions appear once for every parent.
+     *
+     * @param root The root of the tree.
+     * @return LogicElement[]
+     */
+    private static LogicElement[] postOrder(LogicElement root) {
+
+        // Visit in the order node, last child, ..., first child and reverse it at the end
+        ArrayList<LogicElement> elements = new ArrayList<>();
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+            elements.add(element);
+
+            if (element instanceof LogicNode)
+                for (LogicElement child: ((LogicNode) element).children)
+                    pending.push(child);
+        }
+
+        LogicElement[] result = new LogicElement[elements.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = elements.get(result.length - i - 1);
+        return result;
+    }
+
+    /**
+     * Adds a side of a LogicNode to the pending pieces of a String representation,
+     * wrapping it in parentheses if it is a LogicNode without a NOT operator.
+     *
+     * @param pending The pieces of the String representation still to add, in reverse order.
+     * @param side The side to add.
+     */
+    private static void pushSide(ArrayDeque<Object> pending, LogicElement side) {
+        if (side instanceof LogicNode && ! side.hasNot()) {
+            pending.push(")");
+            pending.push(side);
+            pending.push("(");
+        }
+        else
+            pending.push(side);
+    }
+
+    /**
+     * Returns whether or not every child of this LogicNode object is the same object as the child of another.
+     *
+     * @param other The LogicNode to compare the children with.
+     * @return boolean
+     */
+    private boolean sharesChildren(LogicNode other) {
+        for (int i = 0; i < children.length; i++)
+            if (children[i] != other.children[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the style the specified type of operator is written in.
+     * LogicNode objects can only be written in the PSEUDO, LOGIC, and CODE styles.
+     *
+     * @param operatorType The type of operator.
+     * @return int
+     */
+    private static int getStyle(int operatorType) {
+        if (operatorType < PSEUDO || operatorType > CODE)
+            return LOGIC;
+        return operatorType;
+    }
+
+    /**
+     * Combines the value of the children so far with the value of the next child.
+     * NAND and NOR combine like AND and OR; their NOT is applied by {@link #finish(boolean)}.
+     *
+     * @param left The value of the children so far.
+     * @param right The value of the next child.
+     * @return boolean
+     */
+    private boolean combine(boolean left, boolean right) {
+        if (operator == AND || operator == NAND)
+            return left && right;
+        else if (operator == OR || operator == NOR)
+            return left || right;
         else if (operator == IMPLIES)
-            value = ! left || right;
-        else if (operator == BICONDITIONAL)
-            value = left == right;
-        else if (operator == NAND)
-            value = ! (left && right);
-        else if (operator == NOR)
-            value = ! (left || right);
-        
-        if (hasNot())
+            return ! left || right;
+        return left == right;
+    }
+
+    /**
+     * Returns whether or not the value of the children so far already decides this LogicNode object,
+     * so the rest of its children do not need to be evaluated.
+     *
+     * @param value The value of the children so far.
+     * @return boolean
+     */
+    private boolean isDecided(boolean value) {
+        if (operator == AND || operator == NAND)
             return ! value;
-        return value;
+        else if (operator == OR || operator == NOR)
+            return value;
+        return false;
+    }
+
+    /**
+     * Returns the value of this LogicNode object from the combined value of its children.
+     *
+     * @param value The combined value of every child.
+     * @return boolean
+     */
+    private boolean finish(boolean value) {
+        if (operator == NAND || operator == NOR)
+            value = ! value;
+        return hasNot ? ! value : value;
+    }
+
+    /**
+     * Returns the String representation of this LogicNode object in the specified style.
+     * Styles other than PSEUDO, LOGIC, and CODE are written in the LOGIC style, and so are the variables inside.
+     * The String is only made the first time it is asked for. Children that already made theirs are
+     * copied in whole, so making the String of every subexpression from the bottom up takes only
+     * as long as the Strings themselves.
+     *
+     * @param operatorType The type of operator to write.
+     * @return String
+     */
+    public String toString(int operatorType) {
+        operatorType = getStyle(operatorType);
+        if (strings[operatorType] != null)
+            return strings[operatorType];
+
+        // Build the String representation piece by piece; LogicNodes are replaced by their pieces
+        StringBuilder result = new StringBuilder();
+        ArrayDeque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+
+        while (! pending.isEmpty()) {
+            Object piece = pending.pop();
+
+            if (piece instanceof LogicVar) {
+                result.append(((LogicVar) piece).toString(operatorType));
+                continue;
+            }
+
+            if (! (piece instanceof LogicNode)) {
+                result.append(piece);
+                continue;
+            }
+
+            LogicNode logicNode = (LogicNode) piece;
+            String cached = logicNode.strings[operatorType];
+            if (cached != null) {
+                result.append(cached);
+                continue;
+            }
+
+            // The pieces are added in reverse, so they come off in order
+            String operator = " " + logicNode.getOperator(operatorType) + " ";
+            if (logicNode.hasNot())
+                pending.push(")");
+            for (int i = logicNode.children.length - 1; i > 0; i--) {
+                pushSide(pending, logicNode.children[i]);
+                pending.push(operator);
+            }
+            pushSide(pending, logicNode.children[0]);
+            if (logicNode.hasNot())
+                pending.push(logicNode.getNot(operatorType) + "(");
+        }
+
+        strings[operatorType] = result.toString();
+        return strings[operatorType];
+    }
+
+    // Helper Classes
+
+    /**
+     * A LogicNode that is waiting on its children while it is evaluated.
+     */
+    private static class Frame {
+
+        private LogicNode node;
+        private int next;
+        private boolean value;
+
+        /**
+         * Creates a new Frame object for a LogicNode none of whose children have been evaluated.
+         *
+         * @param node The LogicNode to evaluate.
+         */
+        public Frame(LogicNode node) {
+            this.node = node;
+        }
     }
 
     // Overridden Methods
 
     public String toString() {
-
-        // Get left and right String representations
-        String left = "" + this.left;
-        String right = "" + this.right;
-
-        // Check if the left or right do not have NOT operators attached to it
-        if (this.left instanceof LogicNode && ! this.left.hasNot())
-            left = "(" + left + ")";
-        if (this.right instanceof LogicNode && ! this.right.hasNot())
-            right = "(" + right + ")";
-        
-        // Return the String representations of this LogicNode object
-        if (hasNot())
-            return String.format(
-                "%s(%s %s %s)",
-                getNot(), left, getOperator(), right
-            );
-        
-        return String.format(
-            "%s %s %s",
-            left, getOperator(), right
-        );
+        return toString(LOGIC);
     }
 
     public boolean equals(Object object) {
 
+        if (this == object)
+            return true;
+
         if (! (object instanceof LogicNode))
             return false;
-        
-        else {
-            LogicNode logicNode = (LogicNode) object;
-
-            return (
-                left.equals(logicNode.left) &&
-                right.equals(logicNode.right) &&
-                operator == logicNode.operator &&
-                hasNot == logicNode.hasNot
-            );
+
+        // Hash-consed nodes share their children, so most comparisons end here
+        LogicNode other = (LogicNode) object;
+        if (hashCode != other.hashCode || operator != other.operator || hasNot != other.hasNot || children.length != other.children.length)
+            return false;
+        if (sharesChildren(other))
+            return true;
+
+        // Compare both trees side by side, one pair of elements at a time
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        pending.push(this);
+        pending.push(other);
+
+        while (! pending.isEmpty()) {
+            LogicElement second = pending.pop();
+            LogicElement first = pending.pop();
+
+            if (first == second)
+                continue;
+
+            if (! (first instanceof LogicNode) || ! (second instanceof LogicNode)) {
+                if (! first.equals(second))
+                    return false;
+                continue;
+            }
+
+            LogicNode firstNode = (LogicNode) first;
+            LogicNode secondNode = (LogicNode) second;
+            if (
+                firstNode.hashCode != secondNode.hashCode ||
+                firstNode.operator != secondNode.operator ||
+                firstNode.hasNot != secondNode.hasNot ||
+                firstNode.children.length != secondNode.children.length
+            )
+                return false;
+
+            for (int i = 0; i < firstNode.children.length; i++) {
+                pending.push(firstNode.children[i]);
+                pending.push(secondNode.children[i]);
+            }
         }
+
+        return true;
+    }
+
+    public int hashCode() {
+        return hashCode;
     }
     
-}
\ No newline at end of file
+}
@@ -0,0 +1,501 @@
+package logic;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+
+import exceptions.MissingTruthValueException;
+
+import util.Assignment;
+import util.TruthValue;
+
+/**
+ * A class for a logical expression that has been compiled into a flat postfix program.
+ * Each instruction is an int holding an opcode in its low bits and, for variables,
+ * the slot of the variable in its high bits. Slots are the indexes of the variables
+ * in {@link LogicTree#getVariables()}.
+ *
+ * Subexpressions that are shared between multiple parents (see {@link NodeFactory}) are only
+ * evaluated once: the first time they are evaluated they are stored in a temp, and every
+ * other parent loads the temp instead.
+ */
+public class LogicProgram implements BooleanPredicate {
+
+    // Static Fields
+
+    public static final int VAR = 0;
+    public static final int NOT_VAR = 1;
+    public static final int AND = 2;
+    public static final int OR = 3;
+    public static final int IMPLIES = 4;
+    public static final int BICONDITIONAL = 5;
+    public static final int NAND = 6;
+    public static final int NOR = 7;
+    public static final int NOT = 8;
+    public static final int LOAD = 9;
+    public static final int STORE = 10;
+
+    public static final int OPCODE_BITS = 4;
+    public static final int OPCODE_MASK = (1 << OPCODE_BITS) - 1;
+
+    public static final String[] OPCODES = {
+        "VAR", "NOT_VAR", "AND", "OR", "IMPLIES", "BICONDITIONAL", "NAND", "NOR", "NOT", "LOAD", "STORE"
+    };
+
+    /**
+     * The most variables whose values can be packed into a single long.
+     */
+    public static final int MAX_PACKED_VARIABLES = 64;
+
+    /**
+     * The deepest stack and the most temps that can be held inside of a single long.
+     */
+    private static final int MAX_BIT_STACK = 64;
+
+    // Instance Fields
+
+    private int[] code;
+    private String[] variables;
+    private int maxDepth;
+    private int temps;
+
+    // Constructors
+
+    /**
+     * Creates a new LogicProgram object.
+     *
+     * @param code The instructions of this LogicProgram object.
+     * @param variables The variables each slot refers to.
+     */
+    public LogicProgram(int[] code, String[] variables) {
+        this.code = code;
+        this.variables = variables;
+        this.maxDepth = getMaxDepth(code);
+        this.temps = getTemps(code);
+    }
+
+    // Getters
+
+    /**
+     * Returns the instructions this LogicProgram object holds.
+     *
+     * @return int[]
+     */
+    public int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the variables each slot of this LogicProgram object refers to.
+     *
+     * @return String[]
+     */
+    public String[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the deepest the stack gets while running this LogicProgram object.
+     *
+     * @return int
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the amount of temps this LogicProgram object stores shared subexpressions in.
+     *
+     * @return int
+     */
+    public int getTemps() {
+        return temps;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Evaluates this LogicProgram object where bit i of the assignment holds the value of slot i.
+     * This can only be used when there are at most {@link #MAX_PACKED_VARIABLES} variables;
+     * Wider programs must be evaluated with a boolean[] or an Assignment instead.
+     *
+     * @param assignment The values of the variables packed into a long.
+     * @return boolean
+     * @throws IllegalStateException When there are more variables than fit in a long.
+     */
+    public boolean evaluate(long assignment) {
+        if (variables.length > MAX_PACKED_VARIABLES)
+            throw new IllegalStateException(String.format(
+                "A program with %d variables cannot be evaluated with a long; At most %d variables fit in a long.",
+                variables.length, MAX_PACKED_VARIABLES
+            ));
+        if (maxDepth > MAX_BIT_STACK || temps > MAX_BIT_STACK)
+            return run(null, assignment, new boolean[maxDepth], new boolean[temps]);
+        return run(null, assignment);
+    }
+
+    /**
+     * Tests this LogicProgram object where bit i of the assignment holds the value of slot i.
+     * This can only be used when there are at most {@link #MAX_PACKED_VARIABLES} variables.
+     *
+     * @param assignment The values of the variables packed into a long.
+     * @return boolean
+     * @throws IllegalStateException When there are more variables than fit in a long.
+     */
+    public boolean test(long assignment) {
+        return evaluate(assignment);
+    }
+
+    /**
+     * Evaluates this LogicProgram object where values[i] holds the value of slot i.
+     *
+     * @param values The values of the variables.
+     * @return boolean
+     */
+    public boolean evaluate(boolean[] values) {
+        if (maxDepth > MAX_BIT_STACK || temps > MAX_BIT_STACK)
+            return run(values, 0, new boolean[maxDepth], new boolean[temps]);
+        return run(values, 0);
+    }
+
+    /**
+     * Evaluates this LogicProgram object with the specified assignment.
+     *
+     * @param assignment The Assignment object whose slots match the slots of this LogicProgram object.
+     * @return boolean
+     */
+    public boolean evaluate(Assignment assignment) {
+        return evaluate(assignment.getValues());
+    }
+
+    /**
+     * Evaluates this LogicProgram object with the specified truth value.
+     *
+     * @param truthValue The TruthValue object to get the values of the variables from.
+     * @return boolean
+     * @throws MissingTruthValueException When a variable does not have a truth value.
+     */
+    public boolean evaluate(TruthValue truthValue) {
+        boolean[] values = new boolean[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            if (! truthValue.has(variables[i]))
+                throw new MissingTruthValueException(
+                    String.format(
+                        "Required truth value for the variable \"%s\".",
+                        variables[i]
+                    )
+                );
+            values[i] = truthValue.get(variables[i]);
+        }
+        return evaluate(values);
+    }
+
+    // Helper Methods
+
+    /**
+     * Runs the instructions using the bits of a long as the stack and the bits of another as the temps.
+     *
+     * @param values The values of the variables, or null to read them from bits.
+     * @param bits The values of the variables packed into a long.
+     * @return boolean
+     */
+    private boolean run(boolean[] values, long bits) {
+        long stack = 0;
+        long temps = 0;
+
+        for (int instruction: code) {
+            int opcode = instruction & OPCODE_MASK;
+
+            // Push variables onto the stack
+            if (opcode <= NOT_VAR) {
+                int slot = instruction >>> OPCODE_BITS;
+                long value = values != null ? (values[slot] ? 1 : 0) : (bits >>> slot) & 1;
+                // NOT_VAR is 1, so it flips the value while VAR leaves it alone
+                stack = (stack << 1) | (value ^ opcode);
+            }
+
+            // Negate the top of the stack
+            else if (opcode == NOT)
+                stack ^= 1;
+
+            // Push a shared subexpression onto the stack
+            else if (opcode == LOAD)
+                stack = (stack << 1) | ((temps >>> (instruction >>> OPCODE_BITS)) & 1);
+
+            // Keep the top of the stack for the other parents of a shared subexpression
+            else if (opcode == STORE) {
+                int temp = instruction >>> OPCODE_BITS;
+                temps = (temps & ~(1L << temp)) | ((stack & 1) << temp);
+            }
+
+            // Pop the top 2 values and push the result
+            else {
+                long right = stack & 1;
+                long left = (stack >>> 1) & 1;
+                stack = ((stack >>> 2) << 1) | apply(opcode, left, right);
+            }
+        }
+
+        return (stack & 1) == 1;
+    }
+
+    /**
+     * Runs the instructions using arrays as the stack and the temps.
+     * This is only used when the stack or the temps do not fit inside of a long.
+     *
+     * @param values The values of the variables, or null to read them from bits.
+     * @param bits The values of the variables packed into a long.
+     * @param stack The array to use as the stack.
+     * @param temps The array to use as the temps.
+     * @return boolean
+     */
+    private boolean run(boolean[] values, long bits, boolean[] stack, boolean[] temps) {
+        int top = -1;
+
+        for (int instruction: code) {
+            int opcode = instruction & OPCODE_MASK;
+
+            if (opcode <= NOT_VAR) {
+                int slot = instruction >>> OPCODE_BITS;
+                boolean value = values != null ? values[slot] : ((bits >>> slot) & 1) == 1;
+                stack[++top] = value != (opcode == NOT_VAR);
+            }
+
+            else if (opcode == NOT)
+                stack[top] = ! stack[top];
+
+            else if (opcode == LOAD)
+                stack[++top] = temps[instruction >>> OPCODE_BITS];
+
+            else if (opcode == STORE)
+                temps[instruction >>> OPCODE_BITS] = stack[top];
+
+            else {
+                long right = stack[top--] ? 1 : 0;
+                long left = stack[top] ? 1 : 0;
+                stack[top] = apply(opcode, left, right) == 1;
+            }
+        }
+
+        return stack[0];
+    }
+
+    /**
+     * Applies a binary opcode to 2 bits.
+     *
+     * @param opcode The opcode to apply.
+     * @param left The left bit.
+     * @param right The right bit.
+     * @return long
+     */
+    private static long apply(int opcode, long left, long right) {
+        if (opcode == AND)
+            return left & right;
+        else if (opcode == OR)
+            return left | right;
+        else if (opcode == IMPLIES)
+            return (left ^ 1) | right;
+        else if (opcode == BICONDITIONAL)
+            return (left ^ right) ^ 1;
+        else if (opcode == NAND)
+            return (left & right) ^ 1;
+        return (left | right) ^ 1;
+    }
+
+    // Overridden Methods
+
+    public String toString() {
+        String result = "";
+        for (int i = 0; i < code.length; i++) {
+            int opcode = code[i] & OPCODE_MASK;
+            result += OPCODES[opcode];
+            if (opcode <= NOT_VAR)
+                result += " " + variables[code[i] >>> OPCODE_BITS];
+            else if (opcode == LOAD || opcode == STORE)
+                result += " " + (code[i] >>> OPCODE_BITS);
+            if (i < code.length - 1)
+                result += "\n";
+        }
+        return result;
+    }
+
+    // Static Methods
+
+    /**
+     * Compiles the specified LogicElement into a LogicProgram.
+     *
+     * @param root The LogicElement to compile.
+     * @param variables The variables each slot refers to.
+     * @return LogicProgram
+     * @throws MissingTruthValueException When a variable in the LogicElement is not in variables.
+     */
+    public static LogicProgram compile(LogicElement root, String[] variables) {
+
+        // Find which subexpressions have more than one parent
+        IdentityHashMap<LogicElement, Integer> references = new IdentityHashMap<>();
+        countReferences(root, references);
+
+        // Find the slot of every variable once
+        HashMap<String, Integer> slots = new HashMap<>();
+        for (int i = variables.length - 1; i >= 0; i--)
+            slots.put(variables[i], i);
+
+        LinkedList<Integer> code = new LinkedList<>();
+        compile(root, variables, slots, code, references);
+
+        int[] codeArray = new int[code.size()];
+        int i = 0;
+        for (int instruction: code)
+            codeArray[i++] = instruction;
+
+        return new LogicProgram(codeArray, variables);
+    }
+
+    /**
+     * Counts how many parents every LogicNode inside of the specified LogicElement has.
+     *
+     * @param root The LogicElement to count the references in.
+     * @param references The amount of parents of each LogicNode found so far.
+     */
+    private static void countReferences(LogicElement root, IdentityHashMap<LogicElement, Integer> references) {
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+            if (! (element instanceof LogicNode))
+                continue;
+
+            // Only count the children the first time a LogicNode is found
+            Integer count = references.get(element);
+            references.put(element, count == null ? 1 : count + 1);
+            if (count == null)
+                for (int i = ((LogicNode) element).getChildCount() - 1; i >= 0; i--)
+                    pending.push(((LogicNode) element).getChild(i));
+        }
+    }
+
+    /**
+     * Adds the instructions for the specified LogicElement in postfix order.
+     * A chain of more than 2 children applies its operator after every child but the first,
+     * so the stack never holds more than 2 of its children at once.
+     *
+     * @param root The LogicElement to compile.
+     * @param variables The variables each slot refers to.
+     * @param slots The slot of each variable.
+     * @param code The instructions compiled so far.
+     * @param references The amount of parents of each LogicNode.
+     */
+    private static void compile(LogicElement root, String[] variables, HashMap<String, Integer> slots, LinkedList<Integer> code, IdentityHashMap<LogicElement, Integer> references) {
+        IdentityHashMap<LogicElement, Integer> temps = new IdentityHashMap<>();
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        ArrayDeque<Integer> childrenCompiled = new ArrayDeque<>();
+        pending.push(root);
+        childrenCompiled.push(0);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+            int compiled = childrenCompiled.pop();
+
+            if (element instanceof LogicVar) {
+                LogicVar logicVar = (LogicVar) element;
+                int slot = indexOf(logicVar, variables, slots);
+                code.add((slot << OPCODE_BITS) | (logicVar.hasNot() ? NOT_VAR : VAR));
+                continue;
+            }
+
+            // Shared subexpressions that were already evaluated are loaded from their temp
+            LogicNode logicNode = (LogicNode) element;
+            if (compiled == 0) {
+                Integer temp = temps.get(element);
+                if (temp != null) {
+                    code.add((temp << OPCODE_BITS) | LOAD);
+                    continue;
+                }
+            }
+
+            // The LogicNode operators start at AND = 1
+            if (compiled >= 2)
+                code.add(logicNode.getOperatorInt() - LogicNode.AND + AND);
+
+            // Come back to the LogicNode once its next child has been compiled
+            if (compiled < logicNode.getChildCount()) {
+                pending.push(logicNode);
+                childrenCompiled.push(compiled + 1);
+                pending.push(logicNode.getChild(compiled));
+                childrenCompiled.push(0);
+                continue;
+            }
+
+            if (logicNode.hasNot())
+                code.add(NOT);
+
+            if (references.get(element) > 1) {
+                int temp = temps.size();
+                temps.put(element, temp);
+                code.add((temp << OPCODE_BITS) | STORE);
+            }
+        }
+    }
+
+    /**
+     * Returns the deepest the stack gets while running the specified instructions.
+     *
+     * @param code The instructions to check.
+     * @return int
+     */
+    private static int getMaxDepth(int[] code) {
+        int depth = 0;
+        int maxDepth = 0;
+        for (int instruction: code) {
+            int opcode = instruction & OPCODE_MASK;
+            if (opcode <= NOT_VAR || opcode == LOAD)
+                depth++;
+            else if (opcode != NOT && opcode != STORE)
+                depth--;
+            maxDepth = Math.max(depth, maxDepth);
+        }
+        return maxDepth;
+    }
+
+    /**
+     * Returns the amount of temps the specified instructions store into.
+     *
+     * @param code The instructions to check.
+     * @return int
+     */
+    private static int getTemps(int[] code) {
+        int temps = 0;
+        for (int instruction: code)
+            if ((instruction & OPCODE_MASK) == STORE)
+                temps = Math.max(temps, (instruction >>> OPCODE_BITS) + 1);
+        return temps;
+    }
+
+    /**
+     * Returns the slot of the specified variable.
+     *
+     * @param logicVar The variable to search for.
+     * @param variables The variables to search in.
+     * @param slots The slot of each variable.
+     * @return int
+     */
+    private static int indexOf(LogicVar logicVar, String[] variables, HashMap<String, Integer> slots) {
+        Integer slot = slots.get(logicVar.getValue());
+        if (slot != null)
+            return slot;
+
+        int index = logicVar.indexIn(variables);
+        if (index != -1)
+            return index;
+
+        throw new MissingTruthValueException(
+            String.format(
+                "Required truth value for the variable \"%s\".",
+                logicVar.getValue()
+            )
+        );
+    }
+
+}
@@ -0,0 +1,296 @@
+package logic;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * A class used to rewrite a logical expression into a smaller one with the same value for every row.
+ * Only local rules are used, so this is much cheaper than minimizing with {@link util.QuineMcCluskey}:
+ * <ul>
+ *   <li>NAND and NOR become a negated AND and OR.</li>
+ *   <li>AND and OR children of the same operator are merged into their parent, such as {@code a ^ (b ^ c)}.</li>
+ *   <li>Repeated children are removed, such as {@code a ^ a}.</li>
+ *   <li>A child and its negation decide the value, such as {@code a v ~a}.</li>
+ *   <li>Absorption, such as {@code a v (a ^ b)} and {@code a ^ (a v b)}.</li>
+ *   <li>IMPLIES and BICONDITIONAL with equal or negated sides, such as {@code a -> a} and {@code a <-> ~a}.</li>
+ *   <li>Constants found by the rules above are folded into their parents.</li>
+ * </ul>
+ * Double negations never make it past the parser, since a NOT is a flag on each LogicElement.
+ *
+ * Every LogicElement is rewritten once, after its children, and shared subexpressions are only
+ * rewritten once, so the time taken grows linearly with the size of the expression.
+ * Expressions have no constants of their own, so an expression that is always True or always False
+ * is written as {@code x v ~x} or {@code x ^ ~x} with its first variable.
+ */
+public class LogicRewriter {
+
+    // Static Fields
+
+    /**
+     * The constants the rules find. They are only compared by reference and never leave this class.
+     */
+    private static final LogicVar TRUE = new LogicVar("1");
+    private static final LogicVar FALSE = new LogicVar("0");
+
+    // Instance Fields
+
+    private NodeFactory factory;
+
+    // Constructors
+
+    /**
+     * Creates a new LogicRewriter object that makes every rewritten LogicElement with the specified NodeFactory.
+     *
+     * @param factory The NodeFactory to make the rewritten LogicElements with.
+     */
+    public LogicRewriter(NodeFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new LogicRewriter object with its own NodeFactory.
+     */
+    public LogicRewriter() {
+        this(new NodeFactory());
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns the rewritten form of the specified LogicElement.
+     * The children of each LogicNode are rewritten first and are kept on a stack, so no recursion is needed.
+     *
+     * @param root The LogicElement to rewrite.
+     * @param variables The variables of the expression; The first one is used if it is always True or always False.
+     * @return LogicElement
+     */
+    public LogicElement rewrite(LogicElement root, String[] variables) {
+        IdentityHashMap<LogicElement, LogicElement> rewritten = new IdentityHashMap<>();
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        ArrayDeque<Boolean> childrenDone = new ArrayDeque<>();
+        pending.push(root);
+        childrenDone.push(false);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+            boolean done = childrenDone.pop();
+            if (rewritten.containsKey(element))
+                continue;
+
+            if (element instanceof LogicVar) {
+                rewritten.put(element, factory.makeVar(((LogicVar) element).getValue(), element.hasNot()));
+                continue;
+            }
+
+            // Come back to the LogicNode once all of its children have been rewritten
+            LogicNode logicNode = (LogicNode) element;
+            if (! done) {
+                pending.push(logicNode);
+                childrenDone.push(true);
+                for (int i = logicNode.getChildCount() - 1; i >= 0; i--) {
+                    pending.push(logicNode.getChild(i));
+                    childrenDone.push(false);
+                }
+                continue;
+            }
+
+            LogicElement[] children = new LogicElement[logicNode.getChildCount()];
+            for (int i = 0; i < children.length; i++)
+                children[i] = rewritten.get(logicNode.getChild(i));
+            rewritten.put(logicNode, rewriteNode(logicNode.getOperatorInt(), children, logicNode.hasNot()));
+        }
+
+        LogicElement result = rewritten.get(root);
+        if (result == TRUE || result == FALSE) {
+            LogicVar variable = factory.makeVar(variables[0], false);
+            return factory.makeNode(variable, result == TRUE ? LogicNode.OR : LogicNode.AND, negate(variable), false);
+        }
+        return result;
+    }
+
+    // Helper Methods
+
+    /**
+     * Returns the rewritten form of a LogicNode whose children have already been rewritten.
+     *
+     * @param operator The operator of the LogicNode.
+     * @param children The rewritten children, which may be constants.
+     * @param hasNot Whether or not the LogicNode has a NOT operator attached to it.
+     * @return LogicElement
+     */
+    private LogicElement rewriteNode(int operator, LogicElement[] children, boolean hasNot) {
+
+        // NAND and NOR are a negated AND and OR, which can then be merged with other ANDs and ORs
+        if (operator == LogicNode.NAND || operator == LogicNode.NOR) {
+            operator = operator == LogicNode.NAND ? LogicNode.AND : LogicNode.OR;
+            hasNot = ! hasNot;
+        }
+
+        LogicElement result;
+        if (operator == LogicNode.AND || operator == LogicNode.OR)
+            result = rewriteChain(operator, children);
+        else if (operator == LogicNode.IMPLIES)
+            result = rewriteImplies(children[0], children[1]);
+        else
+            result = rewriteBiconditional(children[0], children[1]);
+
+        return hasNot ? negate(result) : result;
+    }
+
+    /**
+     * Returns the rewritten form of an AND or OR of the specified children, without its NOT.
+     *
+     * @param operator The AND or OR operator.
+     * @param children The rewritten children, which may be constants.
+     * @return LogicElement
+     */
+    private LogicElement rewriteChain(int operator, LogicElement[] children) {
+
+        // True does nothing to an AND but decides an OR, and the other way around
+        LogicElement identity = operator == LogicNode.AND ? TRUE : FALSE;
+        LogicElement decided = operator == LogicNode.AND ? FALSE : TRUE;
+
+        // Repeated children are only kept once, and children with the same operator are merged in
+        LinkedHashSet<LogicElement> kept = new LinkedHashSet<>();
+        for (LogicElement child: children) {
+            if (child == decided)
+                return decided;
+            if (child == identity)
+                continue;
+
+            if (isChain(child, operator)) {
+                LogicNode logicNode = (LogicNode) child;
+                for (int i = 0; i < logicNode.getChildCount(); i++)
+                    kept.add(logicNode.getChild(i));
+            }
+            else
+                kept.add(child);
+        }
+
+        // A child and its negation decide the value, such as a v ~a
+        for (LogicElement child: kept)
+            if (kept.contains(negateUnshared(child)))
+                return decided;
+
+        // A child of the other operator is absorbed when one of its own children is also kept,
+        //  such as a v (a ^ b)
+        int other = operator == LogicNode.AND ? LogicNode.OR : LogicNode.AND;
+        LogicElement[] absorbable = kept.toArray(new LogicElement[kept.size()]);
+        for (LogicElement child: absorbable) {
+            if (! isChain(child, other))
+                continue;
+
+            LogicNode logicNode = (LogicNode) child;
+            for (int i = 0; i < logicNode.getChildCount(); i++) {
+                if (kept.contains(logicNode.getChild(i))) {
+                    kept.remove(child);
+                    break;
+                }
+            }
+        }
+
+        if (kept.isEmpty())
+            return identity;
+        if (kept.size() == 1)
+            return kept.iterator().next();
+        return factory.makeNode(operator, kept.toArray(new LogicElement[kept.size()]), false);
+    }
+
+    /**
+     * Returns the rewritten form of {@code left -> right}, without its NOT.
+     *
+     * @param left The rewritten left side, which may be a constant.
+     * @param right The rewritten right side, which may be a constant.
+     * @return LogicElement
+     */
+    private LogicElement rewriteImplies(LogicElement left, LogicElement right) {
+        if (left == FALSE || right == TRUE)
+            return TRUE;
+        if (left == TRUE)
+            return right;
+        if (right == FALSE)
+            return negate(left);
+
+        // a -> a is always True, a -> ~a is ~a, and ~a -> a is a
+        if (left.equals(right))
+            return TRUE;
+        if (right.equals(negateUnshared(left)))
+            return right;
+
+        return factory.makeNode(left, LogicNode.IMPLIES, right, false);
+    }
+
+    /**
+     * Returns the rewritten form of {@code left <-> right}, without its NOT.
+     *
+     * @param left The rewritten left side, which may be a constant.
+     * @param right The rewritten right side, which may be a constant.
+     * @return LogicElement
+     */
+    private LogicElement rewriteBiconditional(LogicElement left, LogicElement right) {
+        if (left == TRUE)
+            return right;
+        if (right == TRUE)
+            return left;
+        if (left == FALSE)
+            return negate(right);
+        if (right == FALSE)
+            return negate(left);
+
+        if (left.equals(right))
+            return TRUE;
+        if (right.equals(negateUnshared(left)))
+            return FALSE;
+
+        return factory.makeNode(left, LogicNode.BICONDITIONAL, right, false);
+    }
+
+    /**
+     * Returns the negation of a rewritten LogicElement, made by the NodeFactory of this LogicRewriter object.
+     *
+     * @param element The rewritten LogicElement, which may be a constant.
+     * @return LogicElement
+     */
+    private LogicElement negate(LogicElement element) {
+        if (element == TRUE)
+            return FALSE;
+        if (element == FALSE)
+            return TRUE;
+
+        if (element instanceof LogicVar)
+            return factory.makeVar(((LogicVar) element).getValue(), ! element.hasNot());
+
+        LogicNode logicNode = (LogicNode) element;
+        return factory.makeNode(logicNode.getOperatorInt(), logicNode.getChildren(), ! logicNode.hasNot());
+    }
+
+    // Static Methods
+
+    /**
+     * Returns the negation of a rewritten LogicElement without adding it to a NodeFactory.
+     * It is only used to look for the negation among other LogicElements.
+     *
+     * @param element The rewritten LogicElement, which is not a constant.
+     * @return LogicElement
+     */
+    private static LogicElement negateUnshared(LogicElement element) {
+        if (element instanceof LogicVar)
+            return new LogicVar(((LogicVar) element).getValue(), ! element.hasNot());
+
+        LogicNode logicNode = (LogicNode) element;
+        return new LogicNode(logicNode.getOperatorInt(), logicNode.getChildren(), ! logicNode.hasNot());
+    }
+
+    /**
+     * Returns whether or not the specified LogicElement is a LogicNode of the specified operator without a NOT.
+     *
+     * @param element The LogicElement to check.
+     * @param operator The operator to check for.
+     * @return boolean
+     */
+    private static boolean isChain(LogicElement element, int operator) {
+        return element instanceof LogicNode && ! element.hasNot() && ((LogicNode) element).getOperatorInt() == operator;
+    }
+
+}
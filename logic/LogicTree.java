@@ -1,24 +1,42 @@
 package logic;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.LinkedList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import exceptions.InvalidExpressionException;
 import exceptions.UnbalancedParenthesesException;
 
+import logic.BitEvaluator;
+import logic.BooleanPredicate;
 import logic.LogicElement;
 import logic.LogicNode;
+import logic.LogicProgram;
 import logic.LogicVar;
+import logic.NodeFactory;
+import logic.ParallelEvaluator;
+import logic.PredicateGenerator;
 
+import util.Assignment;
+import util.Espresso;
 import util.Evaluation;
 import util.Expression;
+import util.Minimizer;
+import util.SlotTable;
+import util.TruthTable;
 import util.TruthValue;
 import util.QuineMcCluskey;
 
 /**
- * A class for a LogicTree that represents a logical expression
+ * A class for a LogicTree that represents a logical expression.
+ * A LogicTree never changes once it is made, so it can be shared freely between threads and cached.
+ * Methods that used to change the LogicTree, such as {@link #parse()}, return a new LogicTree instead.
  */
 public class LogicTree {
 
@@ -46,13 +64,32 @@ public class LogicTree {
 
     public static final int NONE = -1;
 
-    public static final String validVars = "abcdefghijklmnopqrstuwxyz";
+    /**
+     * The order of the columns in a truth table: by length of expression, then by value of expression.
+     */
+    public static final Comparator<String> COLUMN_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String s1, String s2) {
+            if (s1.length() == s2.length())
+                return s1.compareTo(s2);
+            return s1.length() - s2.length();
+        }
+    };
+
+    /**
+     * The ParseCache shared by {@link #of(String)}.
+     */
+    private static final ParseCache PARSE_CACHE = new ParseCache();
 
     // Instance Fields
 
-    private String expression;
-    private String[] variables;
-    private LogicElement root;
+    private final String expression;
+    private final String[] variables;
+    private final int[] symbols;
+    private final SlotTable slotTable;
+    private final SymbolTable symbolTable;
+    private final LogicElement root;
+    private final int operatorType;
 
     // Constructors
 
@@ -62,10 +99,37 @@ public class LogicTree {
      * @param expression The expression to insert into the LogicTree object.
      */
     public LogicTree(String expression) {
-        this.expression = expression;
-        this.variables = new String[0];
-        this.root = null;
-        parse();
+        this(parseExpression(expression));
+    }
+
+    /**
+     * Creates a new LogicTree object from an already parsed expression.
+     * This is used by {@link #of(String)} and {@link ExpressionLoader}.
+     * The variables and symbols are copied, since a parsed expression may be shared through a ParseCache.
+     *
+     * @param exp The parsed expression.
+     */
+    LogicTree(Expression exp) {
+        this(exp.getRoot(), exp.getVariables().clone(), exp.getSymbols().clone(), exp.getSymbolTable(), exp.getOperatorType());
+    }
+
+    /**
+     * Creates a new LogicTree object that shares everything but how it is written.
+     *
+     * @param root The root LogicElement.
+     * @param variables The variables, which must not be shared with anything that modifies them.
+     * @param symbols The ids of the variables.
+     * @param symbolTable The SymbolTable the variables were interned into.
+     * @param operatorType The type of operator to write the expression with.
+     */
+    private LogicTree(LogicElement root, String[] variables, int[] symbols, SymbolTable symbolTable, int operatorType) {
+        this.root = root;
+        this.variables = variables;
+        this.symbols = symbols;
+        this.slotTable = new SlotTable(symbols);
+        this.symbolTable = symbolTable;
+        this.operatorType = operatorType;
+        this.expression = root.toString(operatorType);
     }
 
     // Getters
@@ -80,12 +144,31 @@ public class LogicTree {
     }
 
     /**
-     * Returns an array of variables in this LogicTree object.
+     * Returns a copy of the array of variables in this LogicTree object.
      *
      * @return String[]
      */
     public String[] getVariables() {
-        return variables;
+        return variables.clone();
+    }
+
+    /**
+     * Returns a copy of the array of the ids of the variables in this LogicTree object,
+     * in the same order as {@link #getVariables()}.
+     *
+     * @return int[]
+     */
+    public int[] getSymbols() {
+        return symbols.clone();
+    }
+
+    /**
+     * Returns the SymbolTable the variables of this LogicTree object were interned into.
+     *
+     * @return SymbolTable
+     */
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
     }
 
     /**
@@ -97,21 +180,90 @@ public class LogicTree {
         return root;
     }
 
+    /**
+     * Returns the type of operator this LogicTree object is written with.
+     *
+     * @return int
+     */
+    public int getOperatorType() {
+        return operatorType;
+    }
+
+    // Copy Methods
+
+    /**
+     * Returns a new LogicTree object parsed again from the expression of this LogicTree object.
+     * LogicTree objects never change, so this LogicTree object is left as it is.
+     *
+     * @return LogicTree
+     */
+    public LogicTree parse() {
+        return new LogicTree(expression);
+    }
+
+    /**
+     * Returns a LogicTree object with the same expression written with the specified type of operator.
+     * The root and variables are shared, so nothing has to be parsed again.
+     *
+     * @param operatorType The type of operator to write the expression with.
+     * @return LogicTree
+     */
+    public LogicTree withOperatorType(int operatorType) {
+        if (operatorType < LogicNode.PSEUDO || operatorType > LogicNode.CODE)
+            operatorType = LogicNode.LOGIC;
+        if (operatorType == this.operatorType)
+            return this;
+        return new LogicTree(root, variables, symbols, symbolTable, operatorType);
+    }
+
+    /**
+     * Returns a LogicTree object with the same value for every row, rewritten by {@link LogicRewriter}
+     * to have fewer subexpressions, such as {@code a} for {@code a v (a ^ b)}. Rewriting takes linear time,
+     * so it is worth doing before making a truth table or compiling a LogicTree with redundant parts.
+     * The variables are kept even if they no longer appear, so the truth table keeps the same rows.
+     *
+     * @return LogicTree
+     */
+    public LogicTree rewrite() {
+        LogicElement rewritten = new LogicRewriter(new NodeFactory(symbolTable)).rewrite(root, variables);
+        return new LogicTree(rewritten, variables, symbols, symbolTable, operatorType);
+    }
+
     // Evaluation Methods
 
     /**
-     * Parses the expression held in this LogicTree object.
+     * Compiles this LogicTree object into a flat postfix program.
+     * The slots of the program match the indexes of {@link #getVariables()}.
+     *
+     * @return LogicProgram
      */
-    public void parse() {
-        Expression exp = parseExpression(expression);
+    public LogicProgram compile() {
+        return LogicProgram.compile(root, variables);
+    }
 
-        if (exp.isSingle())
-            this.root = (LogicVar) exp.getRoot();
-        else
-            this.root = exp.getRoot();
-        
-        this.expression = "" + this.root;
-        this.variables = exp.getVariables();
+    /**
+     * Returns an Assignment of the specified values to the variables of this LogicTree object.
+     * The Assignment shares the SlotTable of this LogicTree object, so evaluating the tree with it finds each variable
+     * by its symbol without making anything per Assignment.
+     *
+     * @param values The value of each variable, in the same order as {@link #getVariables()}
+     * @return Assignment
+     */
+    public Assignment makeAssignment(boolean[] values) {
+        return new Assignment(variables, symbols, slotTable, values);
+    }
+
+    /**
+     * Returns a BooleanPredicate for this LogicTree object. The expression is generated into
+     * a hidden class when possible and is otherwise interpreted from {@link #compile()}.
+     * Bit i of the assignment given to the predicate holds the value of {@code getVariables()[i]}.
+     * An expression with more than {@link LogicProgram#MAX_PACKED_VARIABLES} variables does not fit in a long,
+     * so its predicate throws an IllegalStateException; Evaluate {@link #compile()} with a boolean[] or an Assignment instead.
+     *
+     * @return BooleanPredicate
+     */
+    public BooleanPredicate toPredicate() {
+        return PredicateGenerator.generate(compile());
     }
 
     /**
@@ -121,11 +273,16 @@ public class LogicTree {
      */
     public LinkedList<Evaluation> getTruthValues() {
 
+        // Evaluate every subexpression column at once
+        BitEvaluator evaluator = new BitEvaluator(this.variables, this.operatorType);
+        LinkedHashMap<String, LogicElement> subexpressions = evaluator.getSubexpressions(root);
+        IdentityHashMap<LogicElement, long[]> columns = evaluator.evaluateAll(root, 0, evaluator.getWords());
+
         // Create every possible truth combination for all variables
-        LinkedList<TruthValue> truthValues = new LinkedList<TruthValue>();
+        TruthValue[] truthValues = new TruthValue[evaluator.getRows()];
 
         // Iterate through 2 ^ variableLength possible combinations
-        for (int i = 0; i < (int) Math.pow(2, this.variables.length); i++) {
+        for (int i = 0; i < truthValues.length; i++) {
 
             String[] vars = new String[this.variables.length];
             boolean[] vals = new boolean[this.variables.length];
@@ -142,7 +299,7 @@ public class LogicTree {
                 vals[j] = getTruthValue(i, power);
             }
 
-            truthValues.add(new TruthValue(vars, vals));
+            truthValues[i] = new TruthValue(vars, this.symbols, this.slotTable, vals);
         }
 
         // Create truth values for other operations
@@ -151,16 +308,22 @@ public class LogicTree {
         //                  as well as the "a v b" part.
         LinkedList<Evaluation> evaluations = new LinkedList<Evaluation>();
 
-        LinkedList<Evaluation> rootEvaluations = root.getTruthValues(truthValues);
-
         // Add all the truth evaluations from the root
-        for (int i = 0; i < rootEvaluations.size(); i++)
-            if (! evaluations.contains(rootEvaluations.get(i)))
-                evaluations.add(rootEvaluations.get(i));
+        //  Every evaluation of a subexpression shares its id and its String
+        for (Map.Entry<String, LogicElement> subexpression: subexpressions.entrySet()) {
+            long[] column = columns.get(subexpression.getValue());
+            for (int i = 0; i < truthValues.length; i++)
+                evaluations.add(new Evaluation(
+                    subexpression.getValue().getId(),
+                    subexpression.getKey(),
+                    truthValues[i],
+                    BitEvaluator.getValue(column, i)
+                ));
+        }
         
         // Add all the truth values as evaluations
-        for (int i = 0; i < truthValues.size(); i++) {
-            TruthValue truthValue = truthValues.get(i);
+        for (int i = 0; i < truthValues.length; i++) {
+            TruthValue truthValue = truthValues[i];
 
             for (int j = 0; j < truthValue.getVariables().length; j++) {
                 String variable = truthValue.getVariables()[j];
@@ -169,9 +332,10 @@ public class LogicTree {
                     variable,
                     new TruthValue(
                         new String[] { variable },
-                        new boolean[] { truthValue.get(variable) }
+                        new int[] { this.symbols[j] },
+                        new boolean[] { truthValue.get(j) }
                     ),
-                    truthValue.get(variable)
+                    truthValue.get(j)
                 );
 
                 evaluations.add(evaluation);
@@ -181,114 +345,210 @@ public class LogicTree {
         return evaluations;
     }
 
+    /**
+     * Returns the value of the expression for every row of the truth table
+     *
+     * @return boolean[]
+     */
     public boolean[] getExpressionTruths() {
+        return getExpressionTruths(null);
+    }
 
-        // Get the evaluations and keep track of each value
-        LinkedList<Evaluation> evaluations = getTruthValues();
-        LinkedList<Boolean> values = new LinkedList<>();
-        for (int i = 0; i < evaluations.size(); i++) {
-            Evaluation evaluation = evaluations.get(i);
-            if (evaluation.getExpression().equals(this.toString()))
-                values.add(evaluation.getValue());
-        }
+    /**
+     * Returns the value of the expression for every row of the truth table
+     *
+     * @param parallel The ParallelEvaluator to evaluate the rows with, or null to evaluate them on this thread
+     * @return boolean[]
+     */
+    public boolean[] getExpressionTruths(ParallelEvaluator parallel) {
 
-        // Turn the values into an array
-        boolean[] valuesArray = new boolean[values.size()];
-        for (int i = 0; i < values.size(); i++)
-            valuesArray[i] = values.get(i);
+        // Evaluate the root for every row at once
+        BitEvaluator evaluator = new BitEvaluator(this.variables, this.operatorType);
+        long[] column = parallel == null ? evaluator.evaluate(root) : parallel.evaluate(evaluator, root);
+
+        // Turn the column into an array
+        boolean[] valuesArray = new boolean[evaluator.getRows()];
+        for (int i = 0; i < valuesArray.length; i++)
+            valuesArray[i] = BitEvaluator.getValue(column, i);
         return valuesArray;
         
     }
 
+    /**
+     * Returns the minterms of the expression, the values it is true for, in the order
+     * {@link QuineMcCluskey} and {@link Espresso} read them
+     *
+     * @return int[]
+     */
+    public int[] getMinterms() {
+        return getMinterms(null);
+    }
+
+    /**
+     * Returns the minterms of the expression, the values it is true for, in the order
+     * {@link QuineMcCluskey} and {@link Espresso} read them.
+     * The first variable is the highest bit of each value and is 1 where it is True, so the minterm of a row
+     * is the row with every bit flipped. The minterms are read straight from the set bits of the root column.
+     *
+     * @param parallel The ParallelEvaluator to evaluate the rows with, or null to evaluate them on this thread
+     * @return int[]
+     */
+    public int[] getMinterms(ParallelEvaluator parallel) {
+
+        // Evaluate the root for every row at once
+        BitEvaluator evaluator = new BitEvaluator(this.variables, this.operatorType);
+        long[] column = parallel == null ? evaluator.evaluate(root) : parallel.evaluate(evaluator, root);
+
+        int count = 0;
+        for (long word: column)
+            count += Long.bitCount(word);
+
+        // Flip the bits of every row the root is True for
+        int mask = evaluator.getRows() - 1;
+        int[] minterms = new int[count];
+        int i = 0;
+        for (int word = 0; word < column.length; word++) {
+            for (long bits = column[word]; bits != 0; bits &= bits - 1) {
+                int row = word * BitEvaluator.WORD_SIZE + Long.numberOfTrailingZeros(bits);
+                minterms[i++] = ~row & mask;
+            }
+        }
+        return minterms;
+
+    }
+
+    /**
+     * Returns the lines of a truth table for this LogicTree object
+     *
+     * @return String[]
+     */
     public String[] makeTable() {
+        return makeTable(null);
+    }
 
-        // Keep track of lines and temporary results
+    /**
+     * Returns the lines of a truth table for this LogicTree object
+     *
+     * @param parallel The ParallelEvaluator to evaluate the columns with, or null to evaluate them on this thread
+     * @return String[]
+     */
+    public String[] makeTable(ParallelEvaluator parallel) {
+
+        // Keep track of lines
         LinkedList<String> lines = new LinkedList<String>();
-        String result = "";
 
         // Setup truth table
-        LinkedList<Evaluation> evaluations = getTruthValues();
-        HashMap<String, LinkedList<Boolean>> tableMap = new HashMap<String, LinkedList<Boolean>>();
-
-        // Add all expressions as a LinkedList of boolean values
-        for (int i = 0; i < evaluations.size(); i++) {
-            if (! tableMap.containsKey(evaluations.get(i).getExpression()))
-                tableMap.put(evaluations.get(i).getExpression(), new LinkedList<Boolean>());
-            
-            tableMap.get(evaluations.get(i).getExpression()).add(evaluations.get(i).getValue());
+        TruthTable table = getTruthTable(parallel);
+        String[] keySet = table.getLabels();
+
+        // Add column labels and the label split line to the table
+        lines.add(makeLabelLine(keySet));
+        lines.add(makeSplitLine(keySet));
+
+        // Add truth values as part of the main table
+        String[][] cells = makeCells(keySet);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < table.getRows(); i++) {
+            for (int j = 0; j < keySet.length; j++)
+                result.append(cells[j][table.get(i, j) ? 1 : 0]);
+            lines.add(result.toString());
+            result.setLength(0);
         }
 
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * Returns the truth table for this LogicTree object with one packed column per
+     * variable and subexpression, in the same order as {@link #makeTable()}.
+     *
+     * @return TruthTable
+     */
+    public TruthTable getTruthTable() {
+        return getTruthTable(null);
+    }
+
+    /**
+     * Returns the truth table for this LogicTree object with one packed column per
+     * variable and subexpression, in the same order as {@link #makeTable()}.
+     *
+     * @param parallel The ParallelEvaluator to evaluate the columns with, or null to evaluate them on this thread
+     * @return TruthTable
+     */
+    public TruthTable getTruthTable(ParallelEvaluator parallel) {
+
+        // Every variable and subexpression gets its own packed column
+        BitEvaluator evaluator = new BitEvaluator(this.variables, this.operatorType);
+        HashMap<String, long[]> tableMap = new HashMap<String, long[]>();
+        for (int i = 0; i < this.variables.length; i++)
+            tableMap.put(this.variables[i], evaluator.getVariableColumn(i));
+        tableMap.putAll(parallel == null ? evaluator.getColumns(root) : parallel.getColumns(evaluator, root));
+
         // Create a key set and sort the set by length of expression or value of expression
-        int count = 0;
-        int length = tableMap.size();
-        LinkedList<String> keySet = new LinkedList<String>(tableMap.keySet());
-
-        Collections.sort(keySet, new Comparator<String>() {
-            @Override
-            public int compare(String s1, String s2) {
-                if (s1.length() == s2.length())
-                    return s1.compareTo(s2);
-                return s1.length() - s2.length();
-            }
-        });
+        String[] keySet = tableMap.keySet().toArray(new String[tableMap.size()]);
+        Arrays.sort(keySet, COLUMN_ORDER);
 
-        // Add column labels to the table
-        for (int i = 0; i < keySet.size(); i++) {
-            String key = keySet.get(i);
-            String line = "| " + center(key, key.length());
-            if (count > 0)
-                line = " " + line;
-            if (count == length - 1)
-                line += " |";
-            result += line;
-            count += 1;
-        }
-        lines.add(result);
-        result = "";
+        // Keep the columns in the same order as the keys
+        long[][] columns = new long[keySet.length][];
+        for (int i = 0; i < keySet.length; i++)
+            columns[i] = tableMap.get(keySet[i]);
 
-        // Add label split line
-        count = 0;
-        for (int i = 0; i < keySet.size(); i++) {
-            String key = keySet.get(i);
-            String line = "+" + center("-", key.length() + 1, "-");
-            if (count > 0)
-                line = "-" + line;
-            if (count == length - 1)
-                line += "-+";
-            result += line;
-            count += 1;
-        }
-        lines.add(result);
-        result = "";
+        return new TruthTable(keySet, columns, evaluator.getRows());
+    }
 
-        // Add truth values as part of the main table
-        int maxTruths = (int) Math.pow(2, this.variables.length);
+    /**
+     * Writes a truth table for this LogicTree object one row at a time.
+     * Rows are evaluated 64 at a time, so the memory used only depends on the number
+     * of columns and not on the number of rows.
+     *
+     * @param out The Appendable to write the truth table to
+     * @throws IOException When the Appendable cannot be written to
+     */
+    public void writeTable(Appendable out) throws IOException {
 
-        for (int i = 0; i < maxTruths; i++) {
-            count = 0;
-            for (int j = 0; j < keySet.size(); j++) {
-                String key = keySet.get(j);
+        // Find the columns once; Only their values change from block to block
+        BitEvaluator evaluator = new BitEvaluator(this.variables, this.operatorType);
+        LinkedHashMap<String, LogicElement> subexpressions = evaluator.getSubexpressions(root);
 
-                boolean value = (boolean) tableMap.get(key).get(i);
-                String boolValue = value ? "T": "F";
+        String[] keySet = new String[this.variables.length + subexpressions.size()];
+        int count = 0;
+        for (String variable: this.variables)
+            keySet[count++] = variable;
+        for (String subexpression: subexpressions.keySet())
+            keySet[count++] = subexpression;
+        Arrays.sort(keySet, COLUMN_ORDER);
+
+        // Add column labels and the label split line to the table
+        out.append(makeLabelLine(keySet)).append("\n");
+        out.append(makeSplitLine(keySet)).append("\n");
+
+        // Keep track of which columns are plain variables
+        int[] variableIndexes = new int[keySet.length];
+        for (int j = 0; j < keySet.length; j++)
+            variableIndexes[j] = Arrays.asList(this.variables).indexOf(keySet[j]);
+
+        // Add truth values one block of rows at a time
+        String[][] cells = makeCells(keySet);
+        long[][] columns = new long[keySet.length][];
+        StringBuilder result = new StringBuilder();
+
+        for (int word = 0; word < evaluator.getWords(); word++) {
+            IdentityHashMap<LogicElement, long[]> evaluated = evaluator.evaluateAll(root, word, word + 1);
+            for (int j = 0; j < keySet.length; j++) {
+                if (variableIndexes[j] != -1)
+                    columns[j] = evaluator.getVariableColumn(variableIndexes[j], word, word + 1);
+                else
+                    columns[j] = evaluated.get(subexpressions.get(keySet[j]));
+            }
 
-                String line = "| " + center(boolValue, key.length());
-                if (count > 0)
-                    line = " " + line;
-                if (count == length - 1)
-                    line += " |";
-                result += line;
-                count += 1;
+            int rows = Math.min(BitEvaluator.WORD_SIZE, evaluator.getRows() - word * BitEvaluator.WORD_SIZE);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < keySet.length; j++)
+                    result.append(cells[j][BitEvaluator.getValue(columns[j], i) ? 1 : 0]);
+                out.append(result).append("\n");
+                result.setLength(0);
             }
-            lines.add(result);
-            result = "";
         }
-
-        String[] newLines = new String[lines.size()];
-        for (int i = 0; i < lines.size(); i++)
-            newLines[i] = lines.get(i);
-        
-        return newLines;
     }
 
     /**
@@ -297,49 +557,87 @@ public class LogicTree {
      * @return String
      */
     public String makeTableAsString() {
-        String[] lines = makeTable();
-        String result = "";
-        for (int i = 0; i < lines.length; i++)
-            result += lines[i] + "\n";
-        return result;
+        StringBuilder result = new StringBuilder();
+        try {
+            writeTable(result);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return result.toString();
     }
 
+    /**
+     * Returns the simplest form of the expression in this LogicTree object,
+     * which may not be the smallest one when {@link #simplify(ParallelEvaluator, boolean)} stops its search early.
+     *
+     * @return String
+     */
     public String simplify() {
+        return simplify(null, false);
+    }
+
+    /**
+     * Returns the simplest form of the expression in this LogicTree object,
+     * which may not be the smallest one when {@link #simplify(ParallelEvaluator, boolean)} stops its search early.
+     *
+     * @param parallel The ParallelEvaluator to find the minterms with, or null to find them on this thread
+     * @return String
+     */
+    public String simplify(ParallelEvaluator parallel) {
+        return simplify(parallel, false);
+    }
+
+    /**
+     * Returns the simplest form of the expression in this LogicTree object,
+     * which may not be the smallest one when {@link #simplify(ParallelEvaluator, boolean)} stops its search early.
+     *
+     * @param heuristic Whether to find a small form quickly with {@link Espresso} instead of
+     *                  the smallest form with {@link QuineMcCluskey}, which can take very long for many variables
+     * @return String
+     */
+    public String simplify(boolean heuristic) {
+        return simplify(null, heuristic);
+    }
 
-        // Get the operator type
-        int operatorType = this.root.getOperatorType();
+    /**
+     * Returns the simplest form of the expression in this LogicTree object.
+     * When the cover of prime implicants takes more than {@link util.CoverTable#DEFAULT_SEARCH_LIMIT}
+     * branches to search, the best form found by then is returned, which may not be the smallest one;
+     * {@link QuineMcCluskey#isMinimal()} tells whether it is.
+     *
+     * @param parallel The ParallelEvaluator to find and combine the minterms with, or null to find them on this thread
+     * @param heuristic Whether to find a small form quickly with {@link Espresso} instead of
+     *                  the smallest form with {@link QuineMcCluskey}, which can take very long for many variables
+     * @return String
+     */
+    public String simplify(ParallelEvaluator parallel, boolean heuristic) {
 
         // Get the solver data
-        //  First we need to get the indexes where the Node is True and invert the number
-        //  For example: if the expression is True at indexes 0, 1, and 3, then the new list would be
-        //      4, 6, 7
-        LinkedList<Integer> trueAt = new LinkedList<>();
-        boolean[] truths = getExpressionTruths();
-        for (int value = 0; value < truths.length; value++)
-            if (truths[value])
-                trueAt.add(truths.length - value - 1);
-        
-        // Turn the trueAt into an array
-        int[] trueAtArray = new int[trueAt.size()];
-        for (int i = 0; i < trueAt.size(); i++)
-            trueAtArray[i] = trueAt.get(i);
-        
-        // Create a QuineMcCluskey object
-        QuineMcCluskey qm = new QuineMcCluskey(this.variables, trueAtArray);
+        //  These are the rows where the Node is True with every bit inverted
+        //  For example: if the expression is True at rows 0, 1, and 3 of 8, then the minterms would be
+        //      7, 6, 4
+        int[] trueAtArray = getMinterms(parallel);
+
+        // Create a QuineMcCluskey or Espresso object
+        //  The minterms are combined on the pool of the ParallelEvaluator when there is one
+        Minimizer qm;
+        if (heuristic)
+            qm = new Espresso(this.symbolTable, this.symbols, trueAtArray);
+        else if (parallel != null)
+            qm = new QuineMcCluskey(this.symbolTable, this.symbols, trueAtArray, parallel.getPool(), QuineMcCluskey.DEFAULT_SEQUENTIAL_CUTOFF);
+        else
+            qm = new QuineMcCluskey(this.symbolTable, this.symbols, trueAtArray);
         String function = qm.getFunction();
 
-        // Replace AND, NOT, and OR with proper symbols
-        if (operatorType == LogicNode.PSEUDO)
-            function = function.replace("AND", "and").replace("OR", "or").replace("NOT ", "not ");
-        else if (operatorType == LogicNode.LOGIC)
-            function = function.replace("AND", "^").replace("OR", "v").replace("NOT ", "~");
-        else if (operatorType == LogicNode.CODE)
-            function = function.replace("AND", "&&").replace("OR", "||").replace("NOT ", "!");
-        else if (operatorType == LogicNode.BOOLEAN)
-            function = function.replace("AND", "*").replace("OR", "+").replace("NOT ", "-");
-        
-        System.out.println(function);
-        
+        // Write the function with the proper symbols
+        //  The operators are not replaced afterwards, since a variable could contain "AND" or "OR"
+        if (operatorType >= LogicNode.PSEUDO && operatorType <= LogicNode.BOOLEAN)
+            function = qm.getFunction(
+                LogicNode.OPERATORS[operatorType][LogicNode.AND],
+                LogicNode.OPERATORS[operatorType][LogicNode.OR],
+                LogicNode.OPERATORS[operatorType][LogicNode.NOT]
+            );
+
         // Check if function is always true or always false
         if (function.equals("1"))
             return "Always True";
@@ -350,14 +648,15 @@ public class LogicTree {
         return (new LogicTree(function)).toString();
     }
 
+    /**
+     * Prints a truth table for this LogicTree object one row at a time
+     */
     public void printTable() {
-        String[] lines = makeTable();
-        String result = "";
-
-        for (int i = 0; i < lines.length; i++)
-            result += lines[i] + "\n";
-        
-        System.out.print(result);
+        try {
+            writeTable(System.out);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 
     // Overridden Methods
@@ -379,6 +678,38 @@ public class LogicTree {
 
     // Static Methods
 
+    /**
+     * Returns a LogicTree for the specified expression, reusing the parse of an earlier
+     * call with the same expression String when it is still in the shared ParseCache.
+     *
+     * @param expression The expression to insert into the LogicTree.
+     * @return LogicTree
+     */
+    public static LogicTree of(String expression) {
+        return of(expression, PARSE_CACHE);
+    }
+
+    /**
+     * Returns a LogicTree for the specified expression, reusing the parse of an earlier
+     * call with the same expression String when it is still in the specified ParseCache.
+     *
+     * @param expression The expression to insert into the LogicTree.
+     * @param cache The ParseCache to look the expression up in.
+     * @return LogicTree
+     */
+    public static LogicTree of(String expression, ParseCache cache) {
+        return new LogicTree(cache.get(expression));
+    }
+
+    /**
+     * Returns the ParseCache shared by {@link #of(String)}.
+     *
+     * @return ParseCache
+     */
+    public static ParseCache getParseCache() {
+        return PARSE_CACHE;
+    }
+
     /**
      * Returns the boolean truth value for a specific variable given the index and power
      * 
@@ -446,6 +777,70 @@ public class LogicTree {
         return center(text, length, " ");
     }
 
+    /**
+     * Returns the label line of a truth table with the specified columns
+     *
+     * @param keySet The labels of the columns in order
+     * @return String
+     */
+    private static String makeLabelLine(String[] keySet) {
+        String result = "";
+        for (int i = 0; i < keySet.length; i++) {
+            String key = keySet[i];
+            String line = "| " + center(key, key.length());
+            if (i > 0)
+                line = " " + line;
+            if (i == keySet.length - 1)
+                line += " |";
+            result += line;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the line that splits the labels from the values of a truth table with the specified columns
+     *
+     * @param keySet The labels of the columns in order
+     * @return String
+     */
+    private static String makeSplitLine(String[] keySet) {
+        String result = "";
+        for (int i = 0; i < keySet.length; i++) {
+            String key = keySet[i];
+            String line = "+" + center("-", key.length() + 1, "-");
+            if (i > 0)
+                line = "-" + line;
+            if (i == keySet.length - 1)
+                line += "-+";
+            result += line;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the text of every cell in a truth table with the specified columns.
+     * Every cell in a column looks the same for the same value, so they are only made once.
+     * cells[column][0] is the False cell and cells[column][1] is the True cell.
+     *
+     * @param keySet The labels of the columns in order
+     * @return String[][]
+     */
+    private static String[][] makeCells(String[] keySet) {
+        String[][] cells = new String[keySet.length][2];
+        for (int i = 0; i < keySet.length; i++) {
+            String key = keySet[i];
+            for (int value = 0; value < 2; value++) {
+                String line = "| " + center(value == 1 ? "T": "F", key.length());
+                if (i > 0)
+                    line = " " + line;
+                if (i == keySet.length - 1)
+                    line += " |";
+                cells[i][value] = line;
+            }
+        }
+        return cells;
+    }
+
     /**
      * Returns whether or not the specified expression is valid
      *
@@ -453,51 +848,13 @@ public class LogicTree {
      * @return boolean
      */
     public static boolean isExpressionValid(String expression) {
-
-        // Remove all spaces, parentheses, and NOT operators from the expression
-        expression = expression.replace("(", "").replace(")", "").replace(" ", "").replace("~", "");
-
-        // Iterate through operators and split by it
-        // Find if there are variables containing multiple characters
-        for (int i = 0; i < LogicNode.OPERATORS[LogicNode.LOGIC].length; i++) {
-            String[] tokenSplit = expression.split(LogicNode.OPERATORS[LogicNode.LOGIC][i]);
-            if (tokenSplit.length > 1) {
-
-                // Go through each index of the tokenSplit array
-                // And check if the item has length > 1
-                for (int j = 0; j < tokenSplit.length; j++) {
-
-                    // Check if length of item is greater than 1
-                    if (tokenSplit[j].length() > 1) {
-
-                        // Check if item has an operator in last or first index
-                        if (valueIn(tokenSplit[j].charAt(0), LogicNode.OPERATORS[LogicNode.LOGIC]) || valueIn(tokenSplit[j].charAt(tokenSplit[j].length() - 1), LogicNode.OPERATORS[LogicNode.LOGIC]))
-                            return false;
-                        
-                        // Check if item has any operators
-                        else {
-                            LinkedList<String> operators = new LinkedList<>();
-
-                            for (String operator: LogicNode.OPERATORS[LogicNode.LOGIC])
-                                if (tokenSplit[j].indexOf(operator) != -1)
-                                    operators.add(operator);
-                            
-                            if (operators.size() == 0)
-                                return false;
-                        }
-
-                        // Recursive call
-                        return isExpressionValid(tokenSplit[j]);
-                    }
-                }
-            }
-
-            // Check if length of item is 0
-            else if (tokenSplit.length == 0)
-                return false;
+        try {
+            new ExpressionParser(expression, new NodeFactory()).parse(false, NONE);
+            return true;
+        }
+        catch (InvalidExpressionException | UnbalancedParenthesesException exception) {
+            return false;
         }
-
-        return true;
     }
 
     /**
@@ -509,219 +866,22 @@ public class LogicTree {
      * @return Expression
      */
     public static Expression parseExpression(String expression, boolean hasNot, int operatorType) {
+        return parseExpression(expression, hasNot, operatorType, new NodeFactory());
+    }
 
-        // Remove all spaces from the expression
-        expression = expression.replace(" ", "");
-
-        // Go through all operators and replace expressions
-        for (int i = 0; i < INPUT_OPERATORS.length; i++) {
-
-            // Find first operator that can be replaced and set operatorType to the proper type
-            if (expression.contains(INPUT_OPERATORS[i]) && operatorType == NONE) {
-
-                // Iterate through operatorTypes
-                int[] operatorTypes = {LogicNode.PSEUDO, LogicNode.LOGIC, LogicNode.CODE};
-                boolean doBreak = false;
-                for (int opType: operatorTypes) {
-
-                    for (String operator: LogicNode.OPERATORS[opType])
-                        if (INPUT_OPERATORS[i].equals(operator)) {
-                            operatorType = opType;
-                            doBreak = true;
-                            break;
-                        }
-
-                    if (doBreak)
-                        break;
-                
-                }
-
-                if (operatorType == NONE)
-                    operatorType = LogicNode.LOGIC;
-
-            }
-            
-            // Standardize all operators to LOGIC type
-            expression = expression.replace(INPUT_OPERATORS[i], OUTPUT_OPERATORS[i]);
-        }
-
-        // Setup required variables
-        LogicElement left = null;
-        int operator = NONE;
-        LogicElement right = null;
-        LinkedList<String> expVariables = new LinkedList<String>();
-
-        int parentDepth = 0;
-        int last = 0;
-
-        boolean charHasNot = false;
-        boolean tempHasNot = false;
-
-        // Determine whether or not expression is valid
-        if (! isExpressionValid(expression))
-            throw new InvalidExpressionException("That is an invalid expression.");
-        
-        // Loop through and find any operators as expressions
-        for (int i = 0; i < expression.length(); i++) {
-            char chr = expression.charAt(i);
-
-            // Check for open parenthesis
-            if (chr == '(') {
-                if (parentDepth == 0)
-                    last = i + 1;
-                parentDepth++;
-            }
-
-            // Check for close parenthesis
-            else if (chr == ')') {
-                parentDepth--;
-
-                // Parse expression if parentheses depth reaches 0
-                if (parentDepth == 0) {
-
-                    // Check if there is a ~ (NOT) operator directly in front of the parenthesis
-                    if (last - 1 > 0) {
-                        if (expression.charAt(last - 2) == '~')
-                            tempHasNot = true;
-                    }
-
-                    Expression exp = parseExpression(expression.substring(last, i), tempHasNot, operatorType);
-                    if (i == expression.length() - 1 && last == 0)
-                        hasNot = tempHasNot;
-                    tempHasNot = false;
-
-                    // Check if there is no operator; Must be left side
-                    if (operator == NONE)
-                        left = exp.getRoot();
-                    else
-                        right = exp.getRoot();
-                }
-            }
-
-            // No parenthesis depth anymore
-            if (parentDepth == 0) {
-
-                // Check for operator only if within a parenthesis
-                if ("^v>-|:".indexOf(chr) != -1) {
-
-                    // Check if operator does not exist yet
-                    if (operator == NONE) {
-                        if (chr == '^')
-                            operator = LogicNode.AND;
-                        else if (chr == 'v')
-                            operator = LogicNode.OR;
-                        else if (chr == '>')
-                            operator = LogicNode.IMPLIES;
-                        else if (chr == '-')
-                            operator = LogicNode.BICONDITIONAL;
-                        else if (chr == '|')
-                            operator = LogicNode.NAND;
-                        else if (chr == ':')
-                            operator = LogicNode.NOR;
-                    }
-
-                    // Operator exists; String of logical expressions exists
-                    // Make the left, operator, right into the left expression
-                    else {
-
-                        left = new LogicNode(
-                            left,
-                            operator,
-                            right,
-                            hasNot,
-                            operatorType
-                        );
-
-                        if (chr == '^')
-                            operator = LogicNode.AND;
-                        else if (chr == 'v')
-                            operator = LogicNode.OR;
-                        else if (chr == '>')
-                            operator = LogicNode.IMPLIES;
-                        else if (chr == '-')
-                            operator = LogicNode.BICONDITIONAL;
-                        else if (chr == '|')
-                            operator = LogicNode.NAND;
-                        else if (chr == ':')
-                            operator = LogicNode.NOR;
-                    
-                        right = null;
-                        hasNot = false;
-                    }
-                }
-            }
-
-            // Check if the value is an integer; We can't have those
-            if ("0123456789".indexOf(chr) != -1)
-                throw new InvalidExpressionException("You cannot use a number as a logical variable.");
-            
-            // Check for variable only if not within parentheses
-            if (validVars.indexOf(chr) != -1 && chr != 'v') {
-
-                // See if there is a ~ (NOT) operator directly in front of the variable
-                if (i > 0) {
-                    if (expression.charAt(i - 1) == '~')
-                        charHasNot = true;
-                    else
-                        charHasNot = false;
-                }
-
-                // Check if there is no operator; Must be left side
-                if (operator == NONE) {
-                    left = new LogicVar(
-                        "" + chr,
-                        charHasNot
-                    );
-                }
-
-                // There is an operator; Must be right side
-                else {
-                    right = new LogicVar(
-                        "" + chr,
-                        charHasNot
-                    );
-                }
-
-                charHasNot = false;
-
-                // Add variables if not in list already
-                if (expVariables.indexOf("" + chr) == -1)
-                    expVariables.add("" + chr);
-            }
-        }
-
-        // Check if there are an unbalanced amount of parentheses
-        if (parentDepth != 0)
-            throw new UnbalancedParenthesesException("You have a missing parenthesis somewhere.");
-        
-        // Sort the variables
-        expVariables.sort(null);
-
-        // Check if the expression is a single expression wrapped in parentheses
-        if (operator == NONE && right == null && expVariables.size() > 1) {
-            hasNot = ((LogicNode) left).hasNot();
-            operator = ((LogicNode) left).getOperatorInt();
-            operatorType = ((LogicNode) left).getOperatorType();
-            right = ((LogicNode) left).getRight();
-            left = ((LogicNode) left).getLeft();
-        }
-
-        if (left != null && operator == NONE && right == null) {
-            return new Expression(
-                left,
-                expVariables,
-                true
-            );
-        }
-
-        return new Expression(
-            new LogicNode(
-                left, operator, right, hasNot, operatorType
-            ),
-            expVariables,
-            false
-        );
-
+    /**
+     * Parses a logical expression. Identical subexpressions are parsed into a single shared object.
+     *
+     * @param expression The logical expression to parse
+     * @param hasNot Whether or not the logical expression has a NOT operator attached to it
+     * @param operatorType The type of operator to apply to all subexpressions.
+     * @param factory The NodeFactory to create every LogicElement with.
+     * @return Expression
+     * @throws InvalidExpressionException When the expression is not a valid logical expression.
+     * @throws UnbalancedParenthesesException When a parenthesis is never opened or never closed.
+     */
+    public static Expression parseExpression(String expression, boolean hasNot, int operatorType, NodeFactory factory) {
+        return new ExpressionParser(expression, factory).parse(hasNot, operatorType);
     }
 
     /**
@@ -731,6 +891,7 @@ public class LogicTree {
      * @return Expression
      */
     public static Expression parseExpression(String expression) {
-        return parseExpression(expression, false, NONE);
+        return parseExpression(expression, false, NONE, new NodeFactory());
     }
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.util.LinkedList;
 
 import exceptions.MissingTruthValueException;
 
+import util.Assignment;
 import util.Evaluation;
 import util.TruthValue;
 
@@ -24,23 +25,30 @@ public class LogicVar implements LogicElement {
 
     // Instance Fields
 
-    private String value;
-    private boolean hasNot;
-    private int operatorType;
+    private final String value;
+    private final boolean hasNot;
+    private final int id;
+    private final int symbol;
+
+    // Only variables with a NOT operator need to make their String, so only they keep one per style
+    private final String[] strings;
 
     // Constructors
 
     /**
-     * Creates a new LogicVar object.
+     * Creates a new LogicVar object with the id and symbol given by a {@link NodeFactory}.
      *
      * @param value The logic variable to hold in this LogicVar object.
      * @param hasNot Whether or not the logic variable has a NOT operator attached to it.
-     * @param operatorType The type of operator this LogicVar object has.
+     * @param id The id of this LogicVar object, or -1 if it has none.
+     * @param symbol The id of the variable in a {@link SymbolTable}, or -1 if it has none.
      */
-    public LogicVar(String value, boolean hasNot, int operatorType) {
+    LogicVar(String value, boolean hasNot, int id, int symbol) {
         this.value = value;
         this.hasNot = hasNot;
-        this.operatorType = operatorType;
+        this.id = id;
+        this.symbol = symbol;
+        this.strings = hasNot ? new String[BOOLEAN + 1] : null;
     }
 
     /**
@@ -50,17 +58,7 @@ public class LogicVar implements LogicElement {
      * @param hasNot Whether or not the logic variable has a NOT operator attached to it.
      */
     public LogicVar(String value, boolean hasNot) {
-        this(value, hasNot, LOGIC);
-    }
-
-    /**
-     * Creates a new LogicVar object.
-     *
-     * @param value The logic variable to hold in this LogicVar object.
-     * @param operatorType The type of operator this LogicVar object has.
-     */
-    public LogicVar(String value, int operatorType) {
-        this(value, false, operatorType);
+        this(value, hasNot, -1, -1);
     }
 
     /**
@@ -69,7 +67,7 @@ public class LogicVar implements LogicElement {
      * @param value The logic variable to hold in this LogicVar object.
      */
     public LogicVar(String value) {
-        this(value, false, LOGIC);
+        this(value, false, -1, -1);
     }
 
     // Getters
@@ -83,6 +81,44 @@ public class LogicVar implements LogicElement {
         return value;
     }
 
+    /**
+     * Returns the id this LogicVar object was given by a {@link NodeFactory}, or -1 if it has none.
+     * 
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the id of the variable this LogicVar object holds in the {@link SymbolTable}
+     * of the NodeFactory that made it, or -1 if it has none.
+     * 
+     * @return int
+     */
+    public int getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Returns the index of the variable this LogicVar object holds in the specified variables,
+     * or -1 if it does not exist. An exact match is preferred over one that only differs in case.
+     * 
+     * @param variables The variables to search in.
+     * @return int
+     */
+    public int indexIn(String[] variables) {
+        for (int i = 0; i < variables.length; i++)
+            if (variables[i].equals(value))
+                return i;
+
+        for (int i = 0; i < variables.length; i++)
+            if (variables[i].equalsIgnoreCase(value))
+                return i;
+
+        return -1;
+    }
+
     /**
      * Returns whether or not this LogicVar object has a NOT operator attached to it.
      * 
@@ -93,43 +129,47 @@ public class LogicVar implements LogicElement {
     }
 
     /**
-     * Returns the NOT operator as a String depending on what operator type this LogicVar object has.
+     * Returns the NOT operator as a String in the LOGIC style.
      * 
      * @return String
      */
     public String getNot() {
-        return OPERATORS[operatorType];
+        return getNot(LOGIC);
     }
 
     /**
-     * Returns the operator type this LogicVar object has.
+     * Returns the NOT operator as a String in the specified style.
+     * Unknown styles are written in the LOGIC style.
      * 
+     * @param operatorType The type of operator to write.
      * @return String
      */
-    public int getOperatorType() {
-        return operatorType;
+    public String getNot(int operatorType) {
+        if (operatorType < PSEUDO || operatorType > BOOLEAN)
+            operatorType = LOGIC;
+        return OPERATORS[operatorType];
     }
 
-    // Setter Methods
+    // Evaluation Methods
 
     /**
-     * Sets the operator type this LogicVar object has.
-     *
-     * @param operatorType The type of operator
+     * Returns a LinkedList of Evaluation's that are evaluated for each TruthValue specified, written in the LOGIC style.
+     * 
+     * @param truthValues A LinkedList of TruthValue's to evaluate this LogicVar with.
+     * @return LinkedList<Evaluation>
      */
-    public void setOperatorType(int operatorType) {
-        this.operatorType = operatorType;
+    public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues) {
+        return getTruthValues(truthValues, LOGIC);
     }
 
-    // Evaluation Methods
-
     /**
      * Returns a LinkedList of Evaluation's that are evaluated for each TruthValue specified.
      * 
      * @param truthValues A LinkedList of TruthValue's to evaluate this LogicVar with.
+     * @param operatorType The type of operator to write the NOT operator with.
      * @return LinkedList<Evaluation>
      */
-    public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues) {
+    public LinkedList<Evaluation> getTruthValues(LinkedList<TruthValue> truthValues, int operatorType) {
 
         // Keep track of evaluations
         LinkedList<Evaluation> evaluations = new LinkedList<>();
@@ -143,7 +183,8 @@ public class LogicVar implements LogicElement {
         for (int i = 0; i < truthValues.size(); i++) {
 
             Evaluation evaluation = new Evaluation(
-                "" + this,
+                id,
+                toString(operatorType),
                 truthValues.get(i),
                 evaluate(truthValues.get(i))
             );
@@ -166,7 +207,8 @@ public class LogicVar implements LogicElement {
     public boolean evaluate(TruthValue truthValue) {
 
         // Check if the truthValue does not have the value held in this LogicVar object
-        if (! truthValue.has(value))
+        int slot = truthValue.indexOf(value, symbol, -1);
+        if (slot == -1)
             throw new MissingTruthValueException(
                 String.format(
                     "Required truth value for the variable \"%s\".",
@@ -176,23 +218,62 @@ public class LogicVar implements LogicElement {
 
         // Check if this LogicVar object has a NOT operator attached to it
         if (hasNot())
-            return ! truthValue.get(value);
-        return truthValue.get(value);
+            return ! truthValue.get(slot);
+        return truthValue.get(slot);
 
     }
 
+    /**
+     * Evaluates this LogicVar object given an Assignment to use to evaluate it.
+     *
+     * @param assignment An Assignment object to evaluate this LogicVar object.
+     * @return boolean
+     * @throws MissingTruthValueException When the truth value for this LogicVar does not exist.
+     */
+    public boolean evaluate(Assignment assignment) {
+
+        int slot = assignment.indexOf(value, symbol);
+        if (slot == -1)
+            throw new MissingTruthValueException(
+                String.format(
+                    "Required truth value for the variable \"%s\".",
+                    value
+                )
+            );
+
+        return assignment.get(slot) != hasNot;
+    }
+
+    /**
+     * Returns the String representation of this LogicVar object in the specified style.
+     * The String is only made the first time it is asked for.
+     *
+     * @param operatorType The type of operator to write.
+     * @return String
+     */
+    public String toString(int operatorType) {
+
+        if (! hasNot())
+            return getValue();
+
+        if (operatorType < PSEUDO || operatorType > BOOLEAN)
+            operatorType = LOGIC;
+        if (strings[operatorType] == null)
+            strings[operatorType] = getNot(operatorType) + getValue();
+        return strings[operatorType];
+    }
+
     // Overridden Methods
 
     public String toString() {
-
-        if (hasNot())
-            return getNot() + getValue();
-            
-        return getValue();
+        return toString(LOGIC);
     }
 
     public boolean equals(Object object) {
 
+        if (this == object)
+            return true;
+
         if (! (object instanceof LogicVar))
             return false;
 
@@ -206,4 +287,8 @@ public class LogicVar implements LogicElement {
         }
     }
 
-}
\ No newline at end of file
+    public int hashCode() {
+        return value.hashCode() * 2 + (hasNot ? 1 : 0);
+    }
+
+}
@@ -0,0 +1,136 @@
+package logic;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class used to create LogicElements so that structurally identical subexpressions
+ * become a single shared object. Every unique element is given a stable id in the
+ * order it was first created, which evaluators can use to compute each unique
+ * subexpression only once. The name of every LogicVar is interned into the factory's
+ * {@link SymbolTable}, which can be shared with other NodeFactory objects.
+ *
+ * A NodeFactory can be shared between threads. Finding an element that already exists does
+ * not lock, and every shared element is made with its id, so it never changes afterwards.
+ */
+public class NodeFactory {
+
+    // Instance Fields
+
+    private ConcurrentHashMap<LogicElement, LogicElement> elements;
+    private SymbolTable symbolTable;
+    private AtomicInteger nextId;
+
+    // Constructors
+
+    /**
+     * Creates a new NodeFactory object that interns variable names into the specified SymbolTable.
+     *
+     * @param symbolTable The SymbolTable to intern variable names into.
+     */
+    public NodeFactory(SymbolTable symbolTable) {
+        this.elements = new ConcurrentHashMap<>();
+        this.symbolTable = symbolTable;
+        this.nextId = new AtomicInteger();
+    }
+
+    /**
+     * Creates a new NodeFactory object with its own SymbolTable.
+     */
+    public NodeFactory() {
+        this(new SymbolTable());
+    }
+
+    // Getters
+
+    /**
+     * Returns the amount of unique elements this NodeFactory object has created.
+     *
+     * @return int
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Returns the SymbolTable this NodeFactory object interns variable names into.
+     *
+     * @return SymbolTable
+     */
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    // Creation Methods
+
+    /**
+     * Returns the shared LogicVar for the specified variable.
+     *
+     * @param value The logic variable to hold in the LogicVar.
+     * @param hasNot Whether or not the logic variable has a NOT operator attached to it.
+     * @return LogicVar
+     */
+    public LogicVar makeVar(String value, boolean hasNot) {
+        return (LogicVar) intern(new LogicVar(value, hasNot));
+    }
+
+    /**
+     * Returns the shared LogicNode for the specified expression.
+     * The left and right sides must already have been made by this NodeFactory object.
+     *
+     * @param left The LogicElement that is on the left side of the expression.
+     * @param operator The operator that the LogicNode holds.
+     * @param right The LogicElement that is on the right side of the expression.
+     * @param hasNot Whether or not the entire LogicNode has a NOT operator attached to it.
+     * @return LogicNode
+     */
+    public LogicNode makeNode(LogicElement left, int operator, LogicElement right, boolean hasNot) {
+        return (LogicNode) intern(new LogicNode(left, operator, right, hasNot));
+    }
+
+    /**
+     * Returns the shared LogicNode that applies an operator to a chain of children, such as {@code a v b v c}.
+     * The children must already have been made by this NodeFactory object.
+     *
+     * @param operator The operator that the LogicNode holds. Only AND and OR can have more than 2 children.
+     * @param children The LogicElements the operator is applied to, from left to right.
+     * @param hasNot Whether or not the entire LogicNode has a NOT operator attached to it.
+     * @return LogicNode
+     */
+    public LogicNode makeNode(int operator, LogicElement[] children, boolean hasNot) {
+        // The shared copy gets its own children, so the ones given do not need to be copied here
+        return (LogicNode) intern(new LogicNode(operator, children, hasNot, -1));
+    }
+
+    /**
+     * Returns the shared LogicElement that is structurally identical to the specified LogicElement.
+     * If there is none, a copy of the LogicElement with the next id becomes the shared one.
+     * A new LogicVar is also given the symbol of its name. The children of a LogicNode must already be shared.
+     *
+     * When two threads add the same LogicElement at once, only one copy is kept and the id
+     * of the other is never used, so ids are unique but may skip numbers.
+     *
+     * @param element The LogicElement to share.
+     * @return LogicElement
+     */
+    public LogicElement intern(LogicElement element) {
+        LogicElement shared = elements.get(element);
+        if (shared != null)
+            return shared;
+
+        // LogicElements never change, so the shared copy is made with its id
+        LogicElement added;
+        if (element instanceof LogicVar) {
+            LogicVar logicVar = (LogicVar) element;
+            added = new LogicVar(logicVar.getValue(), logicVar.hasNot(), nextId.getAndIncrement(), symbolTable.intern(logicVar.getValue()));
+        }
+        else {
+            LogicNode logicNode = (LogicNode) element;
+            added = new LogicNode(logicNode.getOperatorInt(), logicNode.getChildren(), logicNode.hasNot(), nextId.getAndIncrement());
+        }
+
+        shared = elements.putIfAbsent(added, added);
+        return shared != null ? shared : added;
+    }
+
+}
@@ -0,0 +1,190 @@
+package logic;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class used to evaluate the columns of a truth table across multiple cores.
+ * The rows are split into ranges of words that are evaluated by a {@link BitEvaluator}
+ * on a ForkJoinPool. Each range is copied into its own place in the result, so the
+ * rows always come out in the same order as a sequential evaluation.
+ */
+public class ParallelEvaluator {
+
+    // Static Fields
+
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 14;
+
+    // Instance Fields
+
+    private ForkJoinPool pool;
+    private int sequentialCutoff;
+
+    // Constructors
+
+    /**
+     * Creates a new ParallelEvaluator object.
+     *
+     * @param pool The ForkJoinPool to evaluate on.
+     * @param sequentialCutoff The amount of rows below which a range is evaluated without splitting it.
+     */
+    public ParallelEvaluator(ForkJoinPool pool, int sequentialCutoff) {
+        this.pool = pool;
+        this.sequentialCutoff = Math.max(sequentialCutoff, BitEvaluator.WORD_SIZE);
+    }
+
+    /**
+     * Creates a new ParallelEvaluator object with its own ForkJoinPool.
+     *
+     * @param parallelism The amount of threads to evaluate with.
+     * @param sequentialCutoff The amount of rows below which a range is evaluated without splitting it.
+     */
+    public ParallelEvaluator(int parallelism, int sequentialCutoff) {
+        this(new ForkJoinPool(parallelism), sequentialCutoff);
+    }
+
+    /**
+     * Creates a new ParallelEvaluator object that evaluates on the common ForkJoinPool.
+     */
+    public ParallelEvaluator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
+
+    // Getters
+
+    /**
+     * Returns the ForkJoinPool this ParallelEvaluator object evaluates on.
+     *
+     * @return ForkJoinPool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the amount of threads this ParallelEvaluator object evaluates with.
+     *
+     * @return int
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Returns the amount of rows below which a range is evaluated without splitting it.
+     *
+     * @return int
+     */
+    public int getSequentialCutoff() {
+        return sequentialCutoff;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Evaluates the specified LogicElement for every row of the truth table.
+     *
+     * @param evaluator The BitEvaluator holding the variables of the truth table.
+     * @param root The LogicElement to evaluate.
+     * @return long[]
+     */
+    public long[] evaluate(BitEvaluator evaluator, LogicElement root) {
+        long[][] columns = new long[][] { new long[evaluator.getWords()] };
+        pool.invoke(new ColumnTask(evaluator, root, new LogicElement[] { root }, columns, 0, evaluator.getWords()));
+        return columns[0];
+    }
+
+    /**
+     * Returns the packed columns of every subexpression in the specified LogicElement,
+     * the same as {@link BitEvaluator#getColumns(LogicElement)}.
+     *
+     * @param evaluator The BitEvaluator holding the variables of the truth table.
+     * @param root The LogicElement to get the subexpression columns of.
+     * @return LinkedHashMap<String, long[]>
+     */
+    public LinkedHashMap<String, long[]> getColumns(BitEvaluator evaluator, LogicElement root) {
+        LinkedHashMap<String, LogicElement> subexpressions = evaluator.getSubexpressions(root);
+
+        LogicElement[] elements = new LogicElement[subexpressions.size()];
+        long[][] columns = new long[subexpressions.size()][];
+        LinkedHashMap<String, long[]> result = new LinkedHashMap<>();
+
+        int i = 0;
+        for (Map.Entry<String, LogicElement> subexpression: subexpressions.entrySet()) {
+            elements[i] = subexpression.getValue();
+            columns[i] = new long[evaluator.getWords()];
+            result.put(subexpression.getKey(), columns[i]);
+            i++;
+        }
+
+        pool.invoke(new ColumnTask(evaluator, root, elements, columns, 0, evaluator.getWords()));
+        return result;
+    }
+
+    // Helper Classes
+
+    /**
+     * A task that evaluates a range of words, splitting it in half until it is
+     * below the sequential cutoff. Each range copies its values into the full columns.
+     */
+    private class ColumnTask extends RecursiveAction {
+
+        public static final long serialVersionUID = 60605L;
+
+        private BitEvaluator evaluator;
+        private LogicElement root;
+        private LogicElement[] elements;
+        private long[][] columns;
+        private int fromWord;
+        private int toWord;
+
+        /**
+         * Creates a new ColumnTask object.
+         *
+         * @param evaluator The BitEvaluator to evaluate with.
+         * @param root The LogicElement to evaluate.
+         * @param elements The elements inside of root whose columns are kept.
+         * @param columns The full columns of each element.
+         * @param fromWord The first word to evaluate (inclusive).
+         * @param toWord The last word to evaluate (exclusive).
+         */
+        public ColumnTask(BitEvaluator evaluator, LogicElement root, LogicElement[] elements, long[][] columns, int fromWord, int toWord) {
+            this.evaluator = evaluator;
+            this.root = root;
+            this.elements = elements;
+            this.columns = columns;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        protected void compute() {
+
+            // Split the range in half until it is small enough
+            if ((long) (toWord - fromWord) * BitEvaluator.WORD_SIZE > sequentialCutoff) {
+                int middle = (fromWord + toWord) >>> 1;
+                invokeAll(
+                    new ColumnTask(evaluator, root, elements, columns, fromWord, middle),
+                    new ColumnTask(evaluator, root, elements, columns, middle, toWord)
+                );
+                return;
+            }
+
+            // Only the root is needed; Skip keeping track of every element
+            if (elements.length == 1 && elements[0] == root) {
+                long[] chunk = evaluator.evaluate(root, fromWord, toWord);
+                System.arraycopy(chunk, 0, columns[0], fromWord, chunk.length);
+                return;
+            }
+
+            IdentityHashMap<LogicElement, long[]> evaluated = evaluator.evaluateAll(root, fromWord, toWord);
+            for (int i = 0; i < elements.length; i++) {
+                long[] chunk = evaluated.get(elements[i]);
+                System.arraycopy(chunk, 0, columns[i], fromWord, chunk.length);
+            }
+        }
+    }
+
+}
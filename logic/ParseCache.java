@@ -0,0 +1,165 @@
+package logic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import util.Expression;
+
+/**
+ * A class used to keep the most recently parsed expressions so that the same expression
+ * String does not have to be parsed again. The least recently used expression is evicted
+ * once the cache is full. Every method is synchronized, so one ParseCache can be shared
+ * between threads.
+ *
+ * The cached roots are shared between every LogicTree made from the same expression,
+ * so they must never be modified.
+ */
+public class ParseCache {
+
+    // Static Fields
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // Instance Fields
+
+    private int capacity;
+    private LinkedHashMap<String, Expression> expressions;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // Constructors
+
+    /**
+     * Creates a new ParseCache object.
+     *
+     * @param capacity The most expressions this ParseCache object keeps at once.
+     */
+    public ParseCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("A parse cache must be able to hold at least 1 expression.");
+
+        this.capacity = capacity;
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+
+        // Access order keeps the least recently used expression first
+        this.expressions = new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+            public static final long serialVersionUID = 60609L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                if (size() <= ParseCache.this.capacity)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates a new ParseCache object with the default capacity.
+     */
+    public ParseCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Getters
+
+    /**
+     * Returns the most expressions this ParseCache object keeps at once.
+     *
+     * @return int
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the amount of expressions this ParseCache object currently holds.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return expressions.size();
+    }
+
+    /**
+     * Returns the amount of times an expression was found in this ParseCache object.
+     *
+     * @return long
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the amount of times an expression had to be parsed.
+     *
+     * @return long
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the amount of expressions that were removed to make room for newer ones.
+     *
+     * @return long
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Cache Methods
+
+    /**
+     * Returns the parsed Expression for the specified expression String, parsing it if it is not cached.
+     * The expression is parsed outside of the lock, so other threads are not held up by a slow parse.
+     *
+     * @param expression The expression String to parse.
+     * @return Expression
+     */
+    public Expression get(String expression) {
+        synchronized (this) {
+            Expression cached = expressions.get(expression);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Invalid expressions throw here and are never cached
+        Expression parsed = LogicTree.parseExpression(expression);
+
+        // Another thread may have parsed the same expression in the meantime; Keep the first one
+        synchronized (this) {
+            Expression cached = expressions.get(expression);
+            if (cached != null)
+                return cached;
+            expressions.put(expression, parsed);
+            return parsed;
+        }
+    }
+
+    /**
+     * Removes every expression from this ParseCache object and resets the statistics.
+     */
+    public synchronized void clear() {
+        expressions.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    // Overridden Methods
+
+    public synchronized String toString() {
+        return String.format(
+            "ParseCache[size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d]",
+            expressions.size(), capacity, hits, misses, evictions
+        );
+    }
+
+}
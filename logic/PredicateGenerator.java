@@ -0,0 +1,334 @@
+package logic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * A class used to turn a {@link LogicProgram} into a hidden class that implements
+ * {@link BooleanPredicate} with straight-line bytecode. The JIT can then inline the
+ * expression the same way it would inline a handwritten method.
+ *
+ * The generated test method has no branches, so it does not need any stack map frames.
+ * If the class cannot be defined, the LogicProgram itself is used as the BooleanPredicate.
+ */
+public class PredicateGenerator {
+
+    // Static Fields
+
+    public static final int MAX_VARIABLES = LogicProgram.MAX_PACKED_VARIABLES;
+    public static final int MAX_CODE_LENGTH = 65535;
+
+    private static final int CLASS_VERSION = 59;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ICONST_1 = 0x04;
+    private static final int BIPUSH = 0x10;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD_1 = 0x1f;
+    private static final int ISTORE = 0x36;
+    private static final int DUP = 0x59;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int SWAP = 0x5f;
+    private static final int IAND = 0x7e;
+    private static final int IOR = 0x80;
+    private static final int IXOR = 0x82;
+    private static final int LUSHR = 0x7d;
+    private static final int L2I = 0x88;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int WIDE = 0xc4;
+
+    /**
+     * The first local variable used for temps; 0 is this and 1-2 hold the assignment.
+     */
+    private static final int FIRST_TEMP = 3;
+
+    /**
+     * The constant pool of every generated class. The indexes are fixed, so
+     * the bytecode can refer to them directly.
+     */
+    private static final String CLASS_NAME = "logic/GeneratedPredicate";
+    private static final int THIS_CLASS = 2;
+    private static final int SUPER_CLASS = 4;
+    private static final int INTERFACE = 6;
+    private static final int INIT_NAME = 7;
+    private static final int INIT_DESCRIPTOR = 8;
+    private static final int OBJECT_INIT = 10;
+    private static final int TEST_NAME = 11;
+    private static final int TEST_DESCRIPTOR = 12;
+    private static final int CODE = 13;
+    private static final int CONSTANT_POOL_COUNT = 14;
+
+    // Static Methods
+
+    /**
+     * Returns a BooleanPredicate for the specified LogicProgram. A hidden class is generated
+     * when possible, otherwise the LogicProgram is returned to be interpreted. A LogicProgram with more
+     * than {@link #MAX_VARIABLES} variables is returned as it is, and it throws when tested with a long.
+     *
+     * @param program The LogicProgram to generate a BooleanPredicate for.
+     * @return BooleanPredicate
+     */
+    public static BooleanPredicate generate(LogicProgram program) {
+
+        // Only programs whose assignments fit in a long can be generated
+        if (program.getVariables().length > MAX_VARIABLES)
+            return program;
+
+        try {
+            byte[] bytes = toClassBytes(program);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (BooleanPredicate) lookup.findConstructor(
+                lookup.lookupClass(),
+                MethodType.methodType(void.class)
+            ).invoke();
+        }
+
+        // The class could not be defined; Use the interpreter instead
+        catch (Throwable throwable) {
+            if (throwable instanceof VirtualMachineError)
+                throw (VirtualMachineError) throwable;
+            return program;
+        }
+    }
+
+    /**
+     * Returns the bytes of a class file that implements BooleanPredicate for the specified LogicProgram.
+     *
+     * @param program The LogicProgram to generate a class for.
+     * @return byte[]
+     * @throws IllegalArgumentException When the LogicProgram is too large to fit in a single method.
+     */
+    public static byte[] toClassBytes(LogicProgram program) {
+        byte[] code = toBytecode(program);
+        int maxStack = program.getMaxDepth() + 3;
+        int maxLocals = FIRST_TEMP + program.getTemps();
+        if (code.length > MAX_CODE_LENGTH || maxStack > MAX_CODE_LENGTH || maxLocals > MAX_CODE_LENGTH)
+            throw new IllegalArgumentException("The program is too large to generate a class for.");
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+
+            // Constant Pool
+            out.writeShort(CONSTANT_POOL_COUNT);
+            writeUtf8(out, CLASS_NAME);
+            writeClass(out, 1);
+            writeUtf8(out, "java/lang/Object");
+            writeClass(out, 3);
+            writeUtf8(out, "logic/BooleanPredicate");
+            writeClass(out, 5);
+            writeUtf8(out, "<init>");
+            writeUtf8(out, "()V");
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(INIT_NAME);
+            out.writeShort(INIT_DESCRIPTOR);
+            out.writeByte(CONSTANT_METHODREF);
+            out.writeShort(SUPER_CLASS);
+            out.writeShort(9);
+            writeUtf8(out, "test");
+            writeUtf8(out, "(J)Z");
+            writeUtf8(out, "Code");
+
+            // Class Information
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(THIS_CLASS);
+            out.writeShort(SUPER_CLASS);
+            out.writeShort(1);
+            out.writeShort(INTERFACE);
+            out.writeShort(0);
+
+            // Methods
+            out.writeShort(2);
+            writeMethod(
+                out, ACC_PUBLIC, INIT_NAME, INIT_DESCRIPTOR, 1, 1,
+                new byte[] { (byte) ALOAD_0, (byte) INVOKESPECIAL, 0, (byte) OBJECT_INIT, (byte) RETURN }
+            );
+            // The stack holds every pending value plus a long and a shift while loading a variable
+            writeMethod(
+                out, ACC_PUBLIC | ACC_FINAL, TEST_NAME, TEST_DESCRIPTOR, maxStack, maxLocals,
+                code
+            );
+
+            // Class Attributes
+            out.writeShort(0);
+
+            return bytes.toByteArray();
+        }
+
+        // A ByteArrayOutputStream never throws an IOException
+        catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // Helper Methods
+
+    /**
+     * Returns the bytecode of the test method for the specified LogicProgram.
+     * Every value on the stack is an int that is either 0 or 1.
+     *
+     * @param program The LogicProgram to generate bytecode for.
+     * @return byte[]
+     */
+    private static byte[] toBytecode(LogicProgram program) {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+
+        for (int instruction: program.getCode()) {
+            int opcode = instruction & LogicProgram.OPCODE_MASK;
+
+            // (int) (assignment >>> slot) & 1
+            if (opcode == LogicProgram.VAR || opcode == LogicProgram.NOT_VAR) {
+                code.write(LLOAD_1);
+                code.write(BIPUSH);
+                code.write(instruction >>> LogicProgram.OPCODE_BITS);
+                code.write(LUSHR);
+                code.write(L2I);
+                code.write(ICONST_1);
+                code.write(IAND);
+                if (opcode == LogicProgram.NOT_VAR)
+                    writeNot(code);
+            }
+
+            else if (opcode == LogicProgram.AND)
+                code.write(IAND);
+
+            else if (opcode == LogicProgram.OR)
+                code.write(IOR);
+
+            // ~left | right
+            else if (opcode == LogicProgram.IMPLIES) {
+                code.write(SWAP);
+                writeNot(code);
+                code.write(IOR);
+            }
+
+            else if (opcode == LogicProgram.BICONDITIONAL) {
+                code.write(IXOR);
+                writeNot(code);
+            }
+
+            else if (opcode == LogicProgram.NAND) {
+                code.write(IAND);
+                writeNot(code);
+            }
+
+            else if (opcode == LogicProgram.NOR) {
+                code.write(IOR);
+                writeNot(code);
+            }
+
+            else if (opcode == LogicProgram.NOT)
+                writeNot(code);
+
+            // Shared subexpressions are kept in local variables
+            else if (opcode == LogicProgram.LOAD)
+                writeLocal(code, ILOAD, FIRST_TEMP + (instruction >>> LogicProgram.OPCODE_BITS));
+
+            else if (opcode == LogicProgram.STORE) {
+                code.write(DUP);
+                writeLocal(code, ISTORE, FIRST_TEMP + (instruction >>> LogicProgram.OPCODE_BITS));
+            }
+        }
+
+        code.write(IRETURN);
+        return code.toByteArray();
+    }
+
+    /**
+     * Writes the bytecode to negate the int on top of the stack.
+     *
+     * @param code The bytecode to write to.
+     */
+    private static void writeNot(ByteArrayOutputStream code) {
+        code.write(ICONST_1);
+        code.write(IXOR);
+    }
+
+    /**
+     * Writes an instruction that loads or stores a local variable.
+     *
+     * @param code The bytecode to write to.
+     * @param opcode The ILOAD or ISTORE opcode.
+     * @param local The index of the local variable.
+     */
+    private static void writeLocal(ByteArrayOutputStream code, int opcode, int local) {
+        if (local > 255) {
+            code.write(WIDE);
+            code.write(opcode);
+            code.write(local >>> 8);
+            code.write(local);
+        }
+        else {
+            code.write(opcode);
+            code.write(local);
+        }
+    }
+
+    /**
+     * Writes a UTF-8 entry in the constant pool.
+     *
+     * @param out The stream to write to.
+     * @param value The String to write.
+     */
+    private static void writeUtf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(CONSTANT_UTF8);
+        out.writeUTF(value);
+    }
+
+    /**
+     * Writes a class entry in the constant pool.
+     *
+     * @param out The stream to write to.
+     * @param name The index of the UTF-8 entry holding the name of the class.
+     */
+    private static void writeClass(DataOutputStream out, int name) throws IOException {
+        out.writeByte(CONSTANT_CLASS);
+        out.writeShort(name);
+    }
+
+    /**
+     * Writes a method with a single Code attribute.
+     *
+     * @param out The stream to write to.
+     * @param access The access flags of the method.
+     * @param name The index of the name of the method.
+     * @param descriptor The index of the descriptor of the method.
+     * @param maxStack The deepest the operand stack gets.
+     * @param maxLocals The amount of local variable slots.
+     * @param code The bytecode of the method.
+     */
+    private static void writeMethod(DataOutputStream out, int access, int name, int descriptor, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+
+        out.writeShort(CODE);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+}
@@ -0,0 +1,99 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A class used to intern variable names into dense int ids. The first name interned is given
+ * the id 0, the next new name is given the id 1, and so on, so ids can index plain arrays.
+ * A SymbolTable can belong to a single LogicTree or be shared by every expression a
+ * {@link NodeFactory} parses. Every method is synchronized, so one SymbolTable can be shared
+ * between threads.
+ *
+ * Names are case sensitive, so "clk" and "CLK" are different variables.
+ */
+public class SymbolTable {
+
+    // Instance Fields
+
+    private HashMap<String, Integer> ids;
+    private ArrayList<String> names;
+
+    // Constructors
+
+    /**
+     * Creates a new, empty SymbolTable object.
+     */
+    public SymbolTable() {
+        this.ids = new HashMap<>();
+        this.names = new ArrayList<>();
+    }
+
+    // Getters
+
+    /**
+     * Returns the amount of names interned in this SymbolTable object.
+     * Every id is between 0 and this amount.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the id of the specified name, or -1 if it has not been interned.
+     *
+     * @param name The variable name to search for.
+     * @return int
+     */
+    public synchronized int getId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the name that was given the specified id.
+     *
+     * @param id The id of the name.
+     * @return String
+     * @throws IndexOutOfBoundsException When no name was given the id.
+     */
+    public synchronized String getName(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Returns every name in this SymbolTable object, indexed by id.
+     *
+     * @return String[]
+     */
+    public synchronized String[] getNames() {
+        return names.toArray(new String[names.size()]);
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns the id of the specified name, giving it the next id if it has not been interned yet.
+     *
+     * @param name The variable name to intern.
+     * @return int
+     */
+    public synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null)
+            return id;
+
+        ids.put(name, names.size());
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    // Overridden Methods
+
+    public synchronized String toString() {
+        return String.format("SymbolTable[size=%d]", names.size());
+    }
+
+}
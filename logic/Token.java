@@ -0,0 +1,97 @@
+package logic;
+
+/**
+ * A class that holds a single token read from a logical expression by an {@link ExpressionLexer}.
+ */
+public class Token {
+
+    // Static Fields
+
+    public static final int VARIABLE = 0;
+    public static final int OPERATOR = 1;
+    public static final int NOT = 2;
+    public static final int OPEN = 3;
+    public static final int CLOSE = 4;
+    public static final int END = 5;
+
+    // Instance Fields
+
+    private int type;
+    private String text;
+    private int offset;
+    private int operator;
+    private int inputOperator;
+
+    // Constructors
+
+    /**
+     * Creates a new Token object.
+     *
+     * @param type The type of this token.
+     * @param text The text of this token as it appears in the expression.
+     * @param offset The character offset of this token in the expression.
+     * @param operator The LogicNode operator of this token, or LogicTree.NONE if it is not a binary operator.
+     * @param inputOperator The index of this token in {@link LogicTree#INPUT_OPERATORS}, or LogicTree.NONE if it is not there.
+     */
+    public Token(int type, String text, int offset, int operator, int inputOperator) {
+        this.type = type;
+        this.text = text;
+        this.offset = offset;
+        this.operator = operator;
+        this.inputOperator = inputOperator;
+    }
+
+    // Getters
+
+    /**
+     * Returns the type of this Token object.
+     *
+     * @return int
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Returns the text of this Token object as it appears in the expression.
+     *
+     * @return String
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the character offset of this Token object in the expression.
+     *
+     * @return int
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the LogicNode operator of this Token object, or LogicTree.NONE if it is not a binary operator.
+     *
+     * @return int
+     */
+    public int getOperator() {
+        return operator;
+    }
+
+    /**
+     * Returns the index of this Token object in {@link LogicTree#INPUT_OPERATORS}, or LogicTree.NONE if it is not there.
+     *
+     * @return int
+     */
+    public int getInputOperator() {
+        return inputOperator;
+    }
+
+    // Overridden Methods
+
+    public String toString() {
+        return type == END ? "the end of the expression" : "\"" + text + "\"";
+    }
+
+}
@@ -0,0 +1,750 @@
+package logic;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import exceptions.InvalidTreeFileException;
+
+import util.Expression;
+
+/**
+ * A class for a versioned binary file of parsed LogicTrees, so a set of expressions can be
+ * loaded again without lexing or parsing them. A TreeFile is usually memory-mapped with
+ * {@link #map(Path)}: opening it only checks that the file is valid, and the trees are only
+ * made once they are asked for. Stored programs and truth table bits are read straight out of the file.
+ *
+ * Every number is a big-endian int unless it says otherwise. A file is laid out as:
+ * <pre>
+ * header   magic, version, flags, name count, node count, tree count
+ * names    for every name: byte length, UTF-8 bytes
+ * nodes    for every variable: hasNot &lt;&lt; 3, name
+ *          for every other node: operator | (hasNot &lt;&lt; 3), child count, the index of every child
+ * trees    for every tree: operator type, root, variable count, the name of every variable,
+ *          then the program if HAS_PROGRAMS is set: code length, code,
+ *          then the truth table if HAS_TABLES is set: word count, words as longs
+ * </pre>
+ * Nodes are written children first and identical subexpressions are written once, even when they
+ * belong to different trees. A node with the operator 0 is a variable. Every other node holds a
+ * {@link LogicNode} operator, and only AND and OR nodes can have more than 2 children.
+ * Every variable a tree's root reaches must be one of the variables of that tree.
+ */
+public class TreeFile {
+
+    // Static Fields
+
+    public static final int MAGIC = 0x4A4C5446; // "JLTF"
+    public static final int VERSION = 2;
+
+    public static final int HAS_PROGRAMS = 1;
+    public static final int HAS_TABLES = 2;
+
+    /**
+     * The most variables a tree can have for its truth table to be stored.
+     */
+    public static final int MAX_TABLE_VARIABLES = 16;
+
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int VARIABLE = 0;
+    private static final int NOT_BIT = 1 << 3;
+
+    // Instance Fields
+
+    private final ByteBuffer buffer;
+    private final NodeFactory factory;
+    private final int version;
+    private final int flags;
+    private final String[] names;
+    private final int nodeCount;
+    private final int[] nodeOffsets;
+    private final int[] treeOffsets;
+    private final int[] programOffsets;
+    private final int[] tableOffsets;
+    private LogicElement[] elements;
+
+    // Constructors
+
+    /**
+     * Creates a new TreeFile object that reads from the specified buffer, starting at its position.
+     * The whole file is checked before anything is read from it.
+     *
+     * @param buffer The bytes of the file.
+     * @param factory The NodeFactory to make every LogicElement with.
+     * @throws InvalidTreeFileException When the file is damaged or was written in another version.
+     */
+    public TreeFile(ByteBuffer buffer, NodeFactory factory) {
+        this.buffer = buffer.slice();
+        this.factory = factory;
+
+        require(HEADER_SIZE, 0, "The file is too short to hold a header.");
+        if (this.buffer.getInt(0) != MAGIC)
+            throw new InvalidTreeFileException("The file is not a tree file.", 0);
+
+        this.version = this.buffer.getInt(4);
+        if (version != VERSION)
+            throw new InvalidTreeFileException(String.format(
+                "The file was written in version %d, but only version %d can be read.",
+                version, VERSION
+            ), 4);
+
+        this.flags = this.buffer.getInt(8);
+        if ((flags & ~(HAS_PROGRAMS | HAS_TABLES)) != 0)
+            throw new InvalidTreeFileException("The file has unknown flags.", 8);
+
+        int nameCount = readCount(12);
+        this.nodeCount = readCount(16);
+        int treeCount = readCount(20);
+
+        // Every name, node, and tree takes at least one int, so larger counts can only come from a damaged file
+        require((long) nameCount * Integer.BYTES, HEADER_SIZE, "The names run past the end of the file.");
+        require((long) nodeCount * 2 * Integer.BYTES, HEADER_SIZE, "The nodes run past the end of the file.");
+        require((long) treeCount * 3 * Integer.BYTES, HEADER_SIZE, "The trees run past the end of the file.");
+
+        // The names are read now, since every tree needs them
+        this.names = new String[nameCount];
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < nameCount; i++) {
+            int length = readCount(offset);
+            require(length, offset + Integer.BYTES, "A name runs past the end of the file.");
+            byte[] bytes = new byte[length];
+            this.buffer.position(offset + Integer.BYTES);
+            this.buffer.get(bytes);
+            this.names[i] = new String(bytes, StandardCharsets.UTF_8);
+            offset += Integer.BYTES + length;
+        }
+
+        this.nodeOffsets = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodeOffsets[i] = offset;
+            offset = checkNode(i, offset);
+        }
+
+        // The names and nodes are stamped with the tree that last reached them, so nothing is cleared between trees
+        int[] nameStamps = new int[nameCount];
+        int[] nodeStamps = new int[nodeCount];
+        this.treeOffsets = new int[treeCount];
+        this.programOffsets = new int[treeCount];
+        this.tableOffsets = new int[treeCount];
+        for (int i = 0; i < treeCount; i++)
+            offset = checkTree(i, offset, nameStamps, nodeStamps);
+
+        if (offset != this.buffer.limit())
+            throw new InvalidTreeFileException("The file has bytes after its last tree.", offset);
+    }
+
+    /**
+     * Creates a new TreeFile object that reads from the specified buffer with a new NodeFactory.
+     *
+     * @param buffer The bytes of the file.
+     * @throws InvalidTreeFileException When the file is damaged or was written in another version.
+     */
+    public TreeFile(ByteBuffer buffer) {
+        this(buffer, new NodeFactory());
+    }
+
+    // Getters
+
+    /**
+     * Returns the amount of trees in this TreeFile object.
+     *
+     * @return int
+     */
+    public int size() {
+        return treeOffsets.length;
+    }
+
+    /**
+     * Returns the version this TreeFile object was written in.
+     *
+     * @return int
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether or not this TreeFile object holds the compiled program of every tree.
+     *
+     * @return boolean
+     */
+    public boolean hasPrograms() {
+        return (flags & HAS_PROGRAMS) != 0;
+    }
+
+    /**
+     * Returns whether or not this TreeFile object holds truth tables.
+     * Only trees with at most {@link #MAX_TABLE_VARIABLES} variables have their truth table stored.
+     *
+     * @return boolean
+     */
+    public boolean hasTables() {
+        return (flags & HAS_TABLES) != 0;
+    }
+
+    /**
+     * Returns whether or not the truth table of the specified tree is stored in this TreeFile object.
+     *
+     * @param index The index of the tree.
+     * @return boolean
+     */
+    public boolean hasTable(int index) {
+        return tableOffsets[index] != -1;
+    }
+
+    /**
+     * Returns the NodeFactory every LogicElement of this TreeFile object is made with.
+     *
+     * @return NodeFactory
+     */
+    public NodeFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Returns the type of operator the specified tree is written with.
+     *
+     * @param index The index of the tree.
+     * @return int
+     */
+    public int getOperatorType(int index) {
+        return buffer.getInt(treeOffsets[index]);
+    }
+
+    /**
+     * Returns the variables of the specified tree, in the same order as {@link LogicTree#getVariables()}.
+     *
+     * @param index The index of the tree.
+     * @return String[]
+     */
+    public String[] getVariables(int index) {
+        int offset = treeOffsets[index];
+        String[] variables = new String[buffer.getInt(offset + 8)];
+        for (int i = 0; i < variables.length; i++)
+            variables[i] = names[buffer.getInt(offset + 12 + i * Integer.BYTES)];
+        return variables;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns the specified tree. The first tree asked for makes the LogicElements of every tree
+     * in a single pass, so identical subexpressions stay shared between the trees.
+     *
+     * @param index The index of the tree.
+     * @return LogicTree
+     */
+    public LogicTree getTree(int index) {
+        LogicElement root = getElements()[buffer.getInt(treeOffsets[index] + 4)];
+        String[] variables = getVariables(index);
+
+        int[] symbols = new int[variables.length];
+        for (int i = 0; i < variables.length; i++)
+            symbols[i] = factory.getSymbolTable().intern(variables[i]);
+
+        return new LogicTree(new Expression(
+            root, variables, symbols, factory.getSymbolTable(),
+            getOperatorType(index), root instanceof LogicVar
+        ));
+    }
+
+    /**
+     * Returns every tree in this TreeFile object.
+     *
+     * @return LogicTree[]
+     */
+    public LogicTree[] getTrees() {
+        LogicTree[] trees = new LogicTree[size()];
+        for (int i = 0; i < trees.length; i++)
+            trees[i] = getTree(i);
+        return trees;
+    }
+
+    /**
+     * Returns the compiled program of the specified tree. The program is read from the file
+     * when it was stored and is compiled from the tree otherwise.
+     *
+     * @param index The index of the tree.
+     * @return LogicProgram
+     */
+    public LogicProgram getProgram(int index) {
+        if (! hasPrograms())
+            return getTree(index).compile();
+
+        int offset = programOffsets[index];
+        int[] code = new int[buffer.getInt(offset)];
+        for (int i = 0; i < code.length; i++)
+            code[i] = buffer.getInt(offset + Integer.BYTES + i * Integer.BYTES);
+        return new LogicProgram(code, getVariables(index));
+    }
+
+    /**
+     * Returns the value of the specified tree for a single row of its truth table.
+     * The value is read straight from the file when the truth table was stored.
+     *
+     * @param index The index of the tree.
+     * @param row The row of the truth table.
+     * @return boolean
+     */
+    public boolean getExpressionTruth(int index, int row) {
+        if (! hasTable(index))
+            return getTree(index).getExpressionTruths()[row];
+
+        int words = buffer.getInt(tableOffsets[index]);
+        if (row < 0 || row / BitEvaluator.WORD_SIZE >= words)
+            throw new IndexOutOfBoundsException(String.format("There is no row %d.", row));
+
+        long word = buffer.getLong(tableOffsets[index] + Integer.BYTES + (row / BitEvaluator.WORD_SIZE) * Long.BYTES);
+        return ((word >>> (row % BitEvaluator.WORD_SIZE)) & 1) == 1;
+    }
+
+    /**
+     * Returns the value of the specified tree for every row of its truth table,
+     * in the same order as {@link LogicTree#getExpressionTruths()}.
+     *
+     * @param index The index of the tree.
+     * @return boolean[]
+     */
+    public boolean[] getExpressionTruths(int index) {
+        if (! hasTable(index))
+            return getTree(index).getExpressionTruths();
+
+        int offset = tableOffsets[index] + Integer.BYTES;
+        boolean[] truths = new boolean[1 << buffer.getInt(treeOffsets[index] + 8)];
+        for (int i = 0; i < truths.length; i++) {
+            long word = buffer.getLong(offset + (i / BitEvaluator.WORD_SIZE) * Long.BYTES);
+            truths[i] = ((word >>> (i % BitEvaluator.WORD_SIZE)) & 1) == 1;
+        }
+        return truths;
+    }
+
+    // Helper Methods
+
+    /**
+     * Returns the LogicElement of every node, making them all the first time.
+     * Nodes are written children first, so every child of a node is always made before it.
+     *
+     * @return LogicElement[]
+     */
+    private synchronized LogicElement[] getElements() {
+        if (elements != null)
+            return elements;
+
+        LogicElement[] made = new LogicElement[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int offset = nodeOffsets[i];
+            int header = buffer.getInt(offset);
+            int operator = header & ~NOT_BIT;
+            boolean hasNot = (header & NOT_BIT) != 0;
+
+            if (operator == VARIABLE)
+                made[i] = factory.makeVar(names[buffer.getInt(offset + 4)], hasNot);
+
+            else {
+                LogicElement[] children = new LogicElement[buffer.getInt(offset + 4)];
+                for (int j = 0; j < children.length; j++)
+                    children[j] = made[buffer.getInt(offset + 8 + j * Integer.BYTES)];
+                made[i] = factory.makeNode(operator, children, hasNot);
+            }
+        }
+
+        elements = made;
+        return elements;
+    }
+
+    /**
+     * Returns the amount of bytes the node at the specified offset takes.
+     *
+     * @param offset The offset of the node.
+     * @return int
+     */
+    private int getNodeSize(int offset) {
+        if ((buffer.getInt(offset) & ~NOT_BIT) == VARIABLE)
+            return 2 * Integer.BYTES;
+        return (2 + buffer.getInt(offset + 4)) * Integer.BYTES;
+    }
+
+    /**
+     * Checks that a node only refers to names and nodes that come before it.
+     *
+     * @param index The index of the node.
+     * @param offset The offset the node starts at.
+     * @return int The offset right after the node.
+     */
+    private int checkNode(int index, int offset) {
+        require(2 * Integer.BYTES, offset, "The nodes run past the end of the file.");
+        int header = buffer.getInt(offset);
+        int operator = header & ~NOT_BIT;
+        if (operator < VARIABLE || operator > LogicNode.NOR)
+            throw new InvalidTreeFileException(String.format("Node %d has an unknown operator.", index), offset);
+
+        int children = operator == VARIABLE ? 1 : buffer.getInt(offset + 4);
+        int first = operator == VARIABLE ? offset + 4 : offset + 8;
+        if (operator != VARIABLE && (children < 2 || (children > 2 && operator != LogicNode.AND && operator != LogicNode.OR)))
+            throw new InvalidTreeFileException(String.format("Node %d has the wrong amount of children.", index), offset);
+        require((long) children * Integer.BYTES, first, "The nodes run past the end of the file.");
+
+        for (int i = 0; i < children; i++) {
+            int child = buffer.getInt(first + i * Integer.BYTES);
+            if (operator == VARIABLE ? (child < 0 || child >= names.length) : (child < 0 || child >= index))
+                throw new InvalidTreeFileException(String.format("Node %d refers to something that does not come before it.", index), offset);
+        }
+
+        return offset + getNodeSize(offset);
+    }
+
+    /**
+     * Checks a tree along with its program and truth table and finds where each of them start.
+     *
+     * @param index The index of the tree.
+     * @param offset The offset the tree starts at.
+     * @param nameStamps The tree that last listed each name, plus 1.
+     * @param nodeStamps The tree that last reached each node, plus 1.
+     * @return int The offset right after the tree.
+     */
+    private int checkTree(int index, int offset, int[] nameStamps, int[] nodeStamps) {
+        require(3 * Integer.BYTES, offset, "A tree runs past the end of the file.");
+        treeOffsets[index] = offset;
+
+        int operatorType = buffer.getInt(offset);
+        if (operatorType < LogicNode.PSEUDO || operatorType > LogicNode.CODE)
+            throw new InvalidTreeFileException(String.format("Tree %d has an unknown type of operator.", index), offset);
+
+        int root = buffer.getInt(offset + 4);
+        if (root < 0 || root >= nodeCount)
+            throw new InvalidTreeFileException(String.format("Tree %d has a root that does not exist.", index), offset + 4);
+
+        int variables = readCount(offset + 8);
+        offset += 3 * Integer.BYTES;
+        require((long) variables * Integer.BYTES, offset, "The variables of a tree run past the end of the file.");
+        for (int i = 0; i < variables; i++) {
+            int name = buffer.getInt(offset);
+            if (name < 0 || name >= names.length)
+                throw new InvalidTreeFileException(String.format("Tree %d has a variable that does not exist.", index), offset);
+            nameStamps[name] = index + 1;
+            offset += Integer.BYTES;
+        }
+        checkVariables(index, root, nameStamps, nodeStamps);
+
+        programOffsets[index] = -1;
+        if (hasPrograms()) {
+            programOffsets[index] = offset;
+            int length = readCount(offset);
+            require((long) length * Integer.BYTES, offset + Integer.BYTES, "A program runs past the end of the file.");
+            checkProgram(index, offset + Integer.BYTES, length, variables);
+            offset += Integer.BYTES + length * Integer.BYTES;
+        }
+
+        // Trees with too many variables store an empty truth table
+        tableOffsets[index] = -1;
+        if (hasTables()) {
+            int words = readCount(offset);
+            if (words != 0) {
+                if (variables > MAX_TABLE_VARIABLES || words != ((1 << variables) + BitEvaluator.WORD_SIZE - 1) / BitEvaluator.WORD_SIZE)
+                    throw new InvalidTreeFileException(String.format("Tree %d has a truth table of the wrong size.", index), offset);
+                require((long) words * Long.BYTES, offset + Integer.BYTES, "A truth table runs past the end of the file.");
+                tableOffsets[index] = offset;
+            }
+            offset += Integer.BYTES + words * Long.BYTES;
+        }
+
+        return offset;
+    }
+
+    /**
+     * Checks that every variable the root of a tree reaches is one of the variables of the tree,
+     * so evaluating the tree can never ask for a variable it does not have.
+     * Every node is only visited once per tree, even when it is shared by multiple parents.
+     *
+     * @param index The index of the tree.
+     * @param root The index of the root of the tree.
+     * @param nameStamps The tree that last listed each name, plus 1; The variables of this tree are already stamped.
+     * @param nodeStamps The tree that last reached each node, plus 1.
+     */
+    private void checkVariables(int index, int root, int[] nameStamps, int[] nodeStamps) {
+        int stamp = index + 1;
+        ArrayDeque<Integer> pending = new ArrayDeque<>();
+        nodeStamps[root] = stamp;
+        pending.push(root);
+
+        while (! pending.isEmpty()) {
+            int offset = nodeOffsets[pending.pop()];
+            if ((buffer.getInt(offset) & ~NOT_BIT) == VARIABLE) {
+                if (nameStamps[buffer.getInt(offset + 4)] != stamp)
+                    throw new InvalidTreeFileException(String.format("Tree %d uses a variable that is not one of its variables.", index), offset);
+                continue;
+            }
+
+            for (int i = buffer.getInt(offset + 4) - 1; i >= 0; i--) {
+                int child = buffer.getInt(offset + 8 + i * Integer.BYTES);
+                if (nodeStamps[child] != stamp) {
+                    nodeStamps[child] = stamp;
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a program only uses slots and temps that exist and leaves exactly one value on the stack.
+     *
+     * @param index The index of the tree.
+     * @param offset The offset the code starts at.
+     * @param length The amount of instructions.
+     * @param variables The amount of variables in the tree.
+     */
+    private void checkProgram(int index, int offset, int length, int variables) {
+        int depth = 0;
+        int temps = 0;
+
+        for (int i = 0; i < length; i++) {
+            int instruction = buffer.getInt(offset + i * Integer.BYTES);
+            int opcode = instruction & LogicProgram.OPCODE_MASK;
+            int argument = instruction >>> LogicProgram.OPCODE_BITS;
+
+            boolean valid;
+            if (opcode <= LogicProgram.NOT_VAR) {
+                valid = argument < variables;
+                depth++;
+            }
+            else if (opcode == LogicProgram.LOAD) {
+                valid = argument < temps;
+                depth++;
+            }
+            else if (opcode == LogicProgram.STORE) {
+                valid = depth >= 1 && argument <= temps;
+                temps = Math.max(temps, argument + 1);
+            }
+            else if (opcode == LogicProgram.NOT)
+                valid = depth >= 1;
+            else {
+                valid = opcode < LogicProgram.NOT && depth >= 2;
+                depth--;
+            }
+
+            if (! valid)
+                throw new InvalidTreeFileException(String.format(
+                    "The program of tree %d has an invalid instruction at %d.", index, i
+                ), offset + i * Integer.BYTES);
+        }
+
+        if (depth != 1)
+            throw new InvalidTreeFileException(String.format("The program of tree %d does not end with a single value.", index), offset);
+    }
+
+    /**
+     * Returns a count that is read from the file, which can never be negative.
+     *
+     * @param offset The offset of the count.
+     * @return int
+     */
+    private int readCount(int offset) {
+        require(Integer.BYTES, offset, "The file ends in the middle of a count.");
+        int count = buffer.getInt(offset);
+        if (count < 0)
+            throw new InvalidTreeFileException("The file has a negative count.", offset);
+        return count;
+    }
+
+    /**
+     * Checks that the specified amount of bytes exist from an offset.
+     *
+     * @param bytes The amount of bytes needed.
+     * @param offset The offset the bytes start at.
+     * @param message The message to throw when the bytes do not exist.
+     */
+    private void require(long bytes, int offset, String message) {
+        if (offset + bytes > buffer.limit())
+            throw new InvalidTreeFileException(message, offset);
+    }
+
+    // Static Methods
+
+    /**
+     * Memory-maps the specified file and checks that it is a valid TreeFile.
+     *
+     * @param path The file to map.
+     * @return TreeFile
+     * @throws IOException When the file cannot be read.
+     * @throws InvalidTreeFileException When the file is damaged or was written in another version.
+     */
+    public static TreeFile map(Path path) throws IOException {
+        return map(path, new NodeFactory());
+    }
+
+    /**
+     * Memory-maps the specified file and checks that it is a valid TreeFile.
+     *
+     * @param path The file to map.
+     * @param factory The NodeFactory to make every LogicElement with.
+     * @return TreeFile
+     * @throws IOException When the file cannot be read.
+     * @throws InvalidTreeFileException When the file is damaged or was written in another version.
+     */
+    public static TreeFile map(Path path, NodeFactory factory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new InvalidTreeFileException("The file is too large to map.");
+
+            // The mapping stays valid after the channel is closed
+            return new TreeFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), factory);
+        }
+    }
+
+    /**
+     * Writes the specified trees to a file.
+     *
+     * @param path The file to write to.
+     * @param trees The trees to write.
+     * @param withPrograms Whether or not to store the compiled program of every tree.
+     * @param withTables Whether or not to store the truth table of every tree with at most {@link #MAX_TABLE_VARIABLES} variables.
+     * @throws IOException When the file cannot be written.
+     */
+    public static void write(Path path, LogicTree[] trees, boolean withPrograms, boolean withTables) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out, trees, withPrograms, withTables);
+        }
+    }
+
+    /**
+     * Writes the specified trees to an OutputStream. The OutputStream is not closed.
+     *
+     * @param out The OutputStream to write to.
+     * @param trees The trees to write.
+     * @param withPrograms Whether or not to store the compiled program of every tree.
+     * @param withTables Whether or not to store the truth table of every tree with at most {@link #MAX_TABLE_VARIABLES} variables.
+     * @throws IOException When the OutputStream cannot be written to.
+     */
+    public static void write(OutputStream out, LogicTree[] trees, boolean withPrograms, boolean withTables) throws IOException {
+
+        // Give every unique name and subexpression its index, children first
+        HashMap<String, Integer> nameIndexes = new HashMap<>();
+        ArrayList<String> names = new ArrayList<>();
+        HashMap<LogicElement, Integer> nodeIndexes = new HashMap<>();
+        ArrayList<LogicElement> nodes = new ArrayList<>();
+
+        for (LogicTree tree: trees) {
+            for (String variable: tree.getVariables())
+                addName(variable, nameIndexes, names);
+            addNodes(tree.getRoot(), nodeIndexes, nodes, nameIndexes, names);
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt((withPrograms ? HAS_PROGRAMS : 0) | (withTables ? HAS_TABLES : 0));
+        data.writeInt(names.size());
+        data.writeInt(nodes.size());
+        data.writeInt(trees.length);
+
+        for (String name: names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+
+        for (LogicElement node: nodes) {
+            if (node instanceof LogicVar) {
+                LogicVar logicVar = (LogicVar) node;
+                data.writeInt(VARIABLE | (logicVar.hasNot() ? NOT_BIT : 0));
+                data.writeInt(nameIndexes.get(logicVar.getValue()));
+            }
+            else {
+                LogicNode logicNode = (LogicNode) node;
+                data.writeInt(logicNode.getOperatorInt() | (logicNode.hasNot() ? NOT_BIT : 0));
+                data.writeInt(logicNode.getChildCount());
+                for (int i = 0; i < logicNode.getChildCount(); i++)
+                    data.writeInt(nodeIndexes.get(logicNode.getChild(i)));
+            }
+        }
+
+        for (LogicTree tree: trees) {
+            String[] variables = tree.getVariables();
+            data.writeInt(tree.getOperatorType());
+            data.writeInt(nodeIndexes.get(tree.getRoot()));
+            data.writeInt(variables.length);
+            for (String variable: variables)
+                data.writeInt(nameIndexes.get(variable));
+
+            if (withPrograms) {
+                int[] code = tree.compile().getCode();
+                data.writeInt(code.length);
+                for (int instruction: code)
+                    data.writeInt(instruction);
+            }
+
+            if (withTables) {
+                long[] column = variables.length <= MAX_TABLE_VARIABLES ? new BitEvaluator(variables).evaluate(tree.getRoot()) : new long[0];
+                data.writeInt(column.length);
+                for (long word: column)
+                    data.writeLong(word);
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Gives the specified name the next index if it does not have one yet.
+     *
+     * @param name The name to add.
+     * @param nameIndexes The index of every name found so far.
+     * @param names Every name found so far, in order.
+     */
+    private static void addName(String name, HashMap<String, Integer> nameIndexes, ArrayList<String> names) {
+        if (! nameIndexes.containsKey(name)) {
+            nameIndexes.put(name, names.size());
+            names.add(name);
+        }
+    }
+
+    /**
+     * Gives every subexpression of the specified LogicElement the next index, children first.
+     * Subexpressions that are structurally identical to one found before are skipped.
+     *
+     * @param root The LogicElement to add.
+     * @param nodeIndexes The index of every subexpression found so far.
+     * @param nodes Every subexpression found so far, in order.
+     * @param nameIndexes The index of every name found so far.
+     * @param names Every name found so far, in order.
+     */
+    private static void addNodes(LogicElement root, HashMap<LogicElement, Integer> nodeIndexes, ArrayList<LogicElement> nodes, HashMap<String, Integer> nameIndexes, ArrayList<String> names) {
+        ArrayDeque<LogicElement> pending = new ArrayDeque<>();
+        ArrayDeque<Boolean> sidesAdded = new ArrayDeque<>();
+        pending.push(root);
+        sidesAdded.push(false);
+
+        while (! pending.isEmpty()) {
+            LogicElement element = pending.pop();
+            boolean sidesDone = sidesAdded.pop();
+            if (nodeIndexes.containsKey(element))
+                continue;
+
+            // Come back to the LogicNode once all of its children have been added
+            if (element instanceof LogicNode && ! sidesDone) {
+                pending.push(element);
+                sidesAdded.push(true);
+                for (int i = ((LogicNode) element).getChildCount() - 1; i >= 0; i--) {
+                    pending.push(((LogicNode) element).getChild(i));
+                    sidesAdded.push(false);
+                }
+                continue;
+            }
+
+            if (element instanceof LogicVar)
+                addName(((LogicVar) element).getValue(), nameIndexes, names);
+            nodeIndexes.put(element, nodes.size());
+            nodes.add(element);
+        }
+    }
+
+}
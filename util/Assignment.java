@@ -0,0 +1,203 @@
+package util;
+
+import exceptions.MissingTruthValueException;
+
+/**
+ * A class that holds the truth values of multiple variables by their slot.
+ * A slot is the index of a variable in the variables of a {@link logic.LogicTree},
+ * which lets each variable be read without searching for its name.
+ *
+ * When the Assignment knows the symbol of each variable in a {@link logic.SymbolTable}, a variable is
+ * found by its symbol through a {@link SlotTable}, so no String is compared by its contents.
+ * A {@link logic.LogicTree} shares its SlotTable with every Assignment it makes.
+ * An Assignment only changes through {@link #set(int, boolean)}.
+ */
+public class Assignment {
+
+    // Static Fields
+
+    // Instance Fields
+
+    private final String[] variables;
+    private final int[] symbols;
+    private final SlotTable slotTable;
+    private final boolean[] values;
+
+    // Constructors
+
+    /**
+     * Creates a new Assignment object where each variable also has its id in a {@link logic.SymbolTable}.
+     * Variables that know their symbol are then found without comparing names.
+     *
+     * @param variables An array of variables in this Assignment object
+     * @param symbols An array of matching symbol ids, such as {@link logic.LogicTree#getSymbols()}, or null if the variables have none
+     * @param values An array of matching boolean values in this Assignment object
+     */
+    public Assignment(String[] variables, int[] symbols, boolean[] values) {
+        this(variables, symbols, symbols == null ? SlotTable.EMPTY : new SlotTable(symbols), values);
+    }
+
+    /**
+     * Creates a new Assignment object that finds its variables through a SlotTable that was already made,
+     * such as the one a {@link logic.LogicTree} shares with every Assignment it makes.
+     *
+     * @param variables An array of variables in this Assignment object
+     * @param symbols An array of matching symbol ids, or null if the variables have none
+     * @param slotTable The slot of each symbol, which must match the symbols
+     * @param values An array of matching boolean values in this Assignment object
+     */
+    public Assignment(String[] variables, int[] symbols, SlotTable slotTable, boolean[] values) {
+        this.variables = variables;
+        this.symbols = symbols;
+        this.slotTable = slotTable;
+        this.values = values;
+    }
+
+    /**
+     * Creates a new Assignment object
+     *
+     * @param variables An array of variables in this Assignment object
+     * @param values An array of matching boolean values in this Assignment object
+     */
+    public Assignment(String[] variables, boolean[] values) {
+        this(variables, null, values);
+    }
+
+    /**
+     * Creates a new Assignment object where bit i of the bitmask holds the value of slot i
+     *
+     * @param variables An array of variables in this Assignment object
+     * @param bits The values of the variables packed into a long
+     */
+    public Assignment(String[] variables, long bits) {
+        this(variables, new boolean[variables.length]);
+        for (int i = 0; i < variables.length; i++)
+            values[i] = ((bits >>> i) & 1) == 1;
+    }
+
+    /**
+     * Creates a new Assignment object from a TruthValue object.
+     * The names of the variables are only searched for once.
+     *
+     * @param variables An array of variables in this Assignment object
+     * @param truthValue The TruthValue object to get the values from
+     * @throws MissingTruthValueException When the truthValue does not have a variable
+     */
+    public Assignment(String[] variables, TruthValue truthValue) {
+        this(variables, new boolean[variables.length]);
+        for (int i = 0; i < variables.length; i++) {
+            if (! truthValue.has(variables[i]))
+                throw new MissingTruthValueException(
+                    String.format(
+                        "Required truth value for the variable \"%s\".",
+                        variables[i]
+                    )
+                );
+            values[i] = truthValue.get(variables[i]);
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the boolean value of the variable in the specified slot
+     *
+     * @param slot The slot of the variable
+     * @return boolean
+     */
+    public boolean get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Returns the slot of the specified variable, or -1 if it does not exist.
+     * An exact match is preferred over one that only differs in case.
+     *
+     * @param variable The variable to search for in this Assignment object
+     * @return int
+     */
+    public int indexOf(String variable) {
+        for (int i = 0; i < variables.length; i++)
+            if (variables[i].equals(variable))
+                return i;
+
+        for (int i = 0; i < variables.length; i++)
+            if (variables[i].equalsIgnoreCase(variable))
+                return i;
+
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the specified variable, or -1 if it does not exist.
+     * The variable is looked up by its symbol first, and its name is only searched for
+     * when this Assignment object has no variable with that symbol.
+     *
+     * @param variable The variable to search for in this Assignment object
+     * @param symbol The id of the variable in a {@link logic.SymbolTable}, or -1 if it is unknown
+     * @return int
+     */
+    public int indexOf(String variable, int symbol) {
+
+        // The name is checked in case the symbol comes from a different SymbolTable;
+        //  Names from the same SymbolTable are the same String, so this does not compare their contents
+        int slot = slotTable.get(symbol);
+        if (slot != -1 && variables[slot].equals(variable))
+            return slot;
+
+        return indexOf(variable);
+    }
+
+    /**
+     * Returns an array of variables in this Assignment object
+     *
+     * @return String[]
+     */
+    public String[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns an array of the symbol ids of the variables in this Assignment object, or null if they have none
+     *
+     * @return int[]
+     */
+    public int[] getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns an array of the values in this Assignment object, indexed by slot
+     *
+     * @return boolean[]
+     */
+    public boolean[] getValues() {
+        return values;
+    }
+
+    // Setter Methods
+
+    /**
+     * Sets the boolean value of the variable in the specified slot
+     *
+     * @param slot The slot of the variable
+     * @param value The boolean value to set
+     */
+    public void set(int slot, boolean value) {
+        values[slot] = value;
+    }
+
+    // Other Methods
+
+    /**
+     * Returns a TruthValue object with the same variables and values as this Assignment object.
+     * The slots of this Assignment object line up with the TruthValue object, so variables
+     * that know their slot can still be read without a search.
+     *
+     * @return TruthValue
+     */
+    public TruthValue toTruthValue() {
+        return new TruthValue(variables, symbols, slotTable, values);
+    }
+
+}
@@ -0,0 +1,375 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * A class used to find the smallest set of columns that covers every row of a cover table,
+ * such as the smallest set of prime implicants that covers every minterm of an expression.
+ * A smaller set always wins; Between sets of the same size, the one with the smallest total cost wins.
+ *
+ * The table is first reduced: columns that are the only one covering a row are chosen, columns
+ * that cover a subset of another column's rows for at least the same cost are removed, and rows
+ * whose columns are a superset of another row's columns are dropped, since covering the other
+ * row covers them too. Whatever is left is searched with branch and bound. Each branch chooses
+ * a column for the row with the fewest columns left, and a branch is cut off once it cannot beat
+ * the best cover found so far, counting the rows left that share no columns with each other.
+ *
+ * Finding the smallest cover takes exponential time at worst, so the search stops after a limited
+ * amount of branches and keeps the best cover found by then. {@link #isMinimal()} tells whether
+ * the search finished, in which case the cover is the smallest one.
+ */
+public class CoverTable {
+
+    // Static Fields
+
+    public static final long DEFAULT_SEARCH_LIMIT = 100000;
+
+    // Instance Fields
+
+    private BitSet[] columns;
+    private BitSet[] rowColumns;
+    private int[] costs;
+    private int rows;
+    private long searchLimit;
+    private long branches;
+
+    private int[] best;
+    private int bestCount;
+    private long bestCost;
+
+    // Constructors
+
+    /**
+     * Creates a new CoverTable object that searches at most {@link #DEFAULT_SEARCH_LIMIT} branches.
+     *
+     * @param columns The rows each column covers
+     * @param rows The amount of rows
+     * @param costs The cost of each column, which only decides between covers with the same amount of columns
+     * @throws IllegalArgumentException When a row is not covered by any column
+     */
+    public CoverTable(BitSet[] columns, int rows, int[] costs) {
+        this(columns, rows, costs, DEFAULT_SEARCH_LIMIT);
+    }
+
+    /**
+     * Creates a new CoverTable object.
+     *
+     * @param columns The rows each column covers
+     * @param rows The amount of rows
+     * @param costs The cost of each column, which only decides between covers with the same amount of columns
+     * @param searchLimit The most branches to search before keeping the best cover found so far
+     * @throws IllegalArgumentException When a row is not covered by any column
+     */
+    public CoverTable(BitSet[] columns, int rows, int[] costs, long searchLimit) {
+        this.columns = columns;
+        this.rows = rows;
+        this.costs = costs;
+        this.searchLimit = searchLimit;
+
+        // Keep track of the columns that cover each row
+        this.rowColumns = new BitSet[rows];
+        for (int row = 0; row < rows; row++)
+            rowColumns[row] = new BitSet(columns.length);
+        for (int column = 0; column < columns.length; column++)
+            for (int row = columns[column].nextSetBit(0); row >= 0 && row < rows; row = columns[column].nextSetBit(row + 1))
+                rowColumns[row].set(column);
+
+        for (int row = 0; row < rows; row++)
+            if (rowColumns[row].isEmpty())
+                throw new IllegalArgumentException(String.format("Row %d is not covered by any column.", row));
+    }
+
+    // Getters
+
+    /**
+     * Returns whether or not the last call to {@link #solve()} searched every branch it needed to,
+     * so the cover it returned is the smallest one.
+     *
+     * @return boolean
+     */
+    public boolean isMinimal() {
+        return branches <= searchLimit;
+    }
+
+    // Evaluation Methods
+
+    /**
+     * Returns the indexes of the columns in the smallest cover, in ascending order.
+     *
+     * @return int[]
+     */
+    public int[] solve() {
+
+        BitSet uncovered = new BitSet(rows);
+        uncovered.set(0, rows);
+        BitSet available = new BitSet(columns.length);
+        available.set(0, columns.length);
+        BitSet chosen = new BitSet(columns.length);
+
+        reduce(uncovered, available, chosen);
+        branches = 0;
+
+        // Start from a greedy cover, so most branches can be cut off right away
+        best = greedy(uncovered, available);
+        bestCount = best.length;
+        bestCost = getCost(best);
+
+        search(uncovered, available, new ArrayList<Integer>(), 0);
+
+        for (int column: best)
+            chosen.set(column);
+        return chosen.stream().toArray();
+    }
+
+    // Helper Methods
+
+    /**
+     * Reduces the table until nothing changes. Essential columns are added to the chosen columns and
+     * the rows they cover are removed, dominated columns are removed from the available columns,
+     * and dominated rows are removed from the uncovered rows.
+     *
+     * @param uncovered The rows left to cover
+     * @param available The columns that can still be chosen
+     * @param chosen The columns chosen so far
+     * @return boolean Whether or not every row left can still be covered
+     */
+    private boolean reduce(BitSet uncovered, BitSet available, BitSet chosen) {
+        boolean changed = true;
+        while (changed && ! uncovered.isEmpty()) {
+            changed = false;
+
+            // A row with only one column left makes that column essential
+            for (int row = uncovered.nextSetBit(0); row >= 0; row = uncovered.nextSetBit(row + 1)) {
+                BitSet candidates = getCandidates(row, available);
+                if (candidates.isEmpty())
+                    return false;
+
+                if (candidates.cardinality() == 1) {
+                    int column = candidates.nextSetBit(0);
+                    chosen.set(column);
+                    available.clear(column);
+                    uncovered.andNot(columns[column]);
+                    changed = true;
+                }
+            }
+
+            // A column is dominated by another that covers all of its rows for at most the same cost
+            //  Columns that are the same are only kept once. The columns that cover every row of a column
+            //  are found by intersecting the columns of each of its rows
+            for (int column = available.nextSetBit(0); column >= 0; column = available.nextSetBit(column + 1)) {
+                BitSet covered = (BitSet) columns[column].clone();
+                covered.and(uncovered);
+
+                boolean dominated = covered.isEmpty();
+                BitSet others = (BitSet) available.clone();
+                for (int row = covered.nextSetBit(0); row >= 0 && ! dominated; row = covered.nextSetBit(row + 1))
+                    others.and(rowColumns[row]);
+                others.clear(column);
+
+                for (int other = others.nextSetBit(0); other >= 0 && ! dominated; other = others.nextSetBit(other + 1)) {
+                    if (costs[other] <= costs[column])
+                        dominated = costs[other] < costs[column] || other < column || ! isSubset(columns[other], covered, uncovered);
+                }
+
+                if (dominated) {
+                    available.clear(column);
+                    changed = true;
+                }
+            }
+
+            // A row is dominated by another row whose columns are a subset of its own; Covering
+            //  the other row covers it too. Rows that are the same are only kept once. The rows
+            //  a row dominates are found by intersecting the rows of each of its columns
+            for (int row = uncovered.nextSetBit(0); row >= 0; row = uncovered.nextSetBit(row + 1)) {
+                BitSet candidates = getCandidates(row, available);
+                BitSet dominated = (BitSet) uncovered.clone();
+                for (int column = candidates.nextSetBit(0); column >= 0; column = candidates.nextSetBit(column + 1))
+                    dominated.and(columns[column]);
+                dominated.clear(row);
+
+                // Rows with the same columns dominate each other, so only the later ones are dropped
+                for (int other = dominated.nextSetBit(0); other >= 0 && other < row; other = dominated.nextSetBit(other + 1))
+                    if (getCandidates(other, available).equals(candidates))
+                        dominated.clear(other);
+
+                if (! dominated.isEmpty()) {
+                    uncovered.andNot(dominated);
+                    changed = true;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Searches every cover that can still beat the best cover found so far, until the search limit is reached.
+     * What is left of the table is reduced again first, which often leaves much less to search.
+     *
+     * @param uncovered The rows left to cover
+     * @param available The columns that can still be chosen
+     * @param branch The columns chosen in this branch
+     * @param cost The cost of the columns chosen in this branch
+     */
+    private void search(BitSet uncovered, BitSet available, ArrayList<Integer> branch, long cost) {
+        if (++branches > searchLimit)
+            return;
+
+        uncovered = (BitSet) uncovered.clone();
+        available = (BitSet) available.clone();
+        BitSet chosen = new BitSet(columns.length);
+        if (! reduce(uncovered, available, chosen))
+            return;
+
+        // Add the columns the reduction chose to this branch
+        int branchSize = branch.size();
+        for (int column = chosen.nextSetBit(0); column >= 0; column = chosen.nextSetBit(column + 1)) {
+            branch.add(column);
+            cost += costs[column];
+        }
+
+        try {
+            if (uncovered.isEmpty()) {
+                if (branch.size() < bestCount || (branch.size() == bestCount && cost < bestCost)) {
+                    best = branch.stream().mapToInt(Integer::intValue).toArray();
+                    bestCount = best.length;
+                    bestCost = cost;
+                }
+                return;
+            }
+
+            // Find the columns left for every row, from the rows with the fewest columns
+            ArrayList<BitSet> candidates = new ArrayList<>();
+            for (int row = uncovered.nextSetBit(0); row >= 0; row = uncovered.nextSetBit(row + 1))
+                candidates.add(getCandidates(row, available));
+            candidates.sort((first, second) -> first.cardinality() - second.cardinality());
+
+            // Every row left that shares no columns with the others needs a column of its own
+            int bound = branch.size() + getIndependentRows(candidates);
+            if (bound > bestCount || (bound == bestCount && cost >= bestCost))
+                return;
+
+            // Branch on the row with the fewest columns left, trying the columns that cover the most rows first
+            BitSet branchColumns = candidates.get(0);
+            ArrayList<Integer> order = new ArrayList<>();
+            int[] covered = new int[columns.length];
+            for (int column = branchColumns.nextSetBit(0); column >= 0; column = branchColumns.nextSetBit(column + 1)) {
+                BitSet rowsCovered = (BitSet) columns[column].clone();
+                rowsCovered.and(uncovered);
+                covered[column] = rowsCovered.cardinality();
+                order.add(column);
+            }
+            order.sort((first, second) -> covered[second] != covered[first] ? covered[second] - covered[first] : costs[first] - costs[second]);
+
+            // Once a column has been tried, the branches after it do not need to try it again
+            for (int column: order) {
+                available.clear(column);
+                BitSet stillUncovered = (BitSet) uncovered.clone();
+                stillUncovered.andNot(columns[column]);
+
+                branch.add(column);
+                search(stillUncovered, available, branch, cost + costs[column]);
+                branch.remove(branch.size() - 1);
+            }
+        }
+        finally {
+            while (branch.size() > branchSize)
+                branch.remove(branch.size() - 1);
+        }
+    }
+
+    /**
+     * Returns a cover made by choosing the column that covers the most rows left until every row is covered.
+     *
+     * @param uncovered The rows left to cover
+     * @param available The columns that can be chosen
+     * @return int[]
+     */
+    private int[] greedy(BitSet uncovered, BitSet available) {
+        BitSet left = (BitSet) uncovered.clone();
+        ArrayList<Integer> cover = new ArrayList<>();
+
+        while (! left.isEmpty()) {
+            int bestColumn = -1;
+            int bestCovered = 0;
+            for (int column = available.nextSetBit(0); column >= 0; column = available.nextSetBit(column + 1)) {
+                BitSet covered = (BitSet) columns[column].clone();
+                covered.and(left);
+                int count = covered.cardinality();
+                if (count > bestCovered || (count == bestCovered && count > 0 && costs[column] < costs[bestColumn])) {
+                    bestColumn = column;
+                    bestCovered = count;
+                }
+            }
+
+            cover.add(bestColumn);
+            left.andNot(columns[bestColumn]);
+        }
+
+        return cover.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the amount of rows left that share no columns with each other, found greedily
+     * from the rows with the fewest columns. Each of them needs a column of its own.
+     *
+     * @param candidates The columns left for each row, from the rows with the fewest columns
+     * @return int
+     */
+    private int getIndependentRows(ArrayList<BitSet> candidates) {
+        int count = 0;
+        BitSet used = new BitSet(columns.length);
+        for (BitSet rowColumns: candidates) {
+            if (! rowColumns.intersects(used)) {
+                used.or(rowColumns);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the columns that can still be chosen to cover the specified row.
+     *
+     * @param row The row
+     * @param available The columns that can still be chosen
+     * @return BitSet
+     */
+    private BitSet getCandidates(int row, BitSet available) {
+        BitSet candidates = (BitSet) rowColumns[row].clone();
+        candidates.and(available);
+        return candidates;
+    }
+
+    /**
+     * Returns the total cost of the specified columns.
+     *
+     * @param chosen The columns
+     * @return long
+     */
+    private long getCost(int[] chosen) {
+        long cost = 0;
+        for (int column: chosen)
+            cost += costs[column];
+        return cost;
+    }
+
+    // Static Methods
+
+    /**
+     * Returns whether or not every bit of a BitSet that is also set in a mask is set in another.
+     *
+     * @param subset The BitSet that may be a subset
+     * @param superset The BitSet that may be a superset
+     * @param mask The bits to compare
+     * @return boolean
+     */
+    private static boolean isSubset(BitSet subset, BitSet superset, BitSet mask) {
+        for (int bit = subset.nextSetBit(0); bit >= 0; bit = subset.nextSetBit(bit + 1))
+            if (mask.get(bit) && ! superset.get(bit))
+                return false;
+        return true;
+    }
+
+}
@@ -0,0 +1,544 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import logic.SymbolTable;
+
+/**
+ * A class to find a small sum of products with the Espresso heuristic, for expressions with too many
+ * variables for the exact {@link QuineMcCluskey} Algorithm. The sum is not always the smallest one,
+ * but each round takes polynomial time in the size of the cover and of the truth table.
+ *
+ * The cover starts with a cube for every value and repeats 3 steps for as long as it gets smaller:
+ * <ul>
+ *   <li>Expand grows each cube, from the largest, into a prime implicant by dropping the variables
+ *       that add the most values no other cube covers yet. Cubes that the cubes before them cover are dropped.</li>
+ *   <li>Irredundant keeps the cubes that are the only one covering one of their values,
+ *       and the fewest other cubes that cover the rest.</li>
+ *   <li>Reduce shrinks each cube, from the largest, to the smallest cube holding the values no other cube covers,
+ *       so the next expand can grow it in another direction.</li>
+ * </ul>
+ * Once the cover stops getting smaller, a last try reduces every cube against the whole cover at once
+ * and adds the prime implicants those expand into, in case they make a smaller cover.
+ * The values the expression is true for are kept as a bitmap with 64 values to a long, so checking
+ * whether a cube is an implicant checks 64 of its values at a time, and the first cover is expanded straight
+ * from the bitmap. Only the values the expression is true for have a count of the cubes covering them,
+ * found by their rank in the bitmap. The memory needed is about 2.5 bits for every value, counting the bitmap
+ * of covered values that expand uses, plus 4 bytes of counts for every value the expression is true for,
+ * on top of the 4 bytes each of those takes in the values that are given. At 30 variables, that is
+ * about 320 MiB for a function true for few values, but about 8.3 GiB for one true for every value.
+ */
+public class Espresso extends Minimizer {
+
+    // Static Fields
+
+    public static final int MAX_VARIABLES = 30;
+
+    // Instance Fields
+
+    private long[] onSet;
+    private int[] ranks;
+    private int[] counts;
+    private int[][] solution;
+
+    // Constructor
+
+    /**
+     * Creates a new Espresso object to find a small sum of products
+     *
+     * @param symbolTable The SymbolTable that holds the names of the variables
+     * @param variables The ids of the variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
+     * @throws IllegalArgumentException When there are more than {@link #MAX_VARIABLES} variables
+     */
+    public Espresso(SymbolTable symbolTable, int[] variables, int[] values) {
+        super(symbolTable, variables, values);
+        if (variables.length > MAX_VARIABLES)
+            throw new IllegalArgumentException(String.format("Espresso can only minimize up to %d variables.", MAX_VARIABLES));
+
+        // Keep the values the expression is true for as a bitmap
+        this.onSet = new long[Math.max(1, (1 << variables.length) >>> 6)];
+        for (int value: values)
+            onSet[value >>> 6] |= 1L << value;
+
+        // Keep the amount of values before each long, so each value has its own count
+        this.ranks = new int[onSet.length];
+        for (int word = 1; word < onSet.length; word++)
+            ranks[word] = ranks[word - 1] + Long.bitCount(onSet[word - 1]);
+
+        this.solution = solve();
+    }
+
+    /**
+     * Creates a new Espresso object to find a small sum of products
+     *
+     * @param variables The variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
+     */
+    public Espresso(String[] variables, int[] values) {
+        this(new SymbolTable(), variables, values);
+    }
+
+    /**
+     * Creates a new Espresso object after interning the variable names into the specified SymbolTable
+     */
+    private Espresso(SymbolTable symbolTable, String[] variables, int[] values) {
+        this(symbolTable, intern(symbolTable, variables), values);
+    }
+
+    // Getters
+
+    /**
+     * Returns the cubes in the solution, each as an array of its value mask and its care mask.
+     *
+     * @returns int[][]
+     */
+    protected int[][] getCubes() {
+        return solution;
+    }
+
+    // Solving Methods
+
+    /**
+     * Runs expand, irredundant, and reduce until the cover stops getting smaller,
+     * and returns the smallest cover found.
+     *
+     * @returns int[][]
+     */
+    private int[][] solve() {
+
+        // Only the values the expression is true for are ever covered, so only those are counted
+        this.counts = new int[ranks[ranks.length - 1] + Long.bitCount(onSet[onSet.length - 1])];
+        ArrayList<int[]> cover = irredundant(expandOnSet());
+        ArrayList<int[]> best = cover;
+        while (true) {
+            cover = irredundant(expand(reduce(cover)));
+
+            // Make one last try before giving up
+            if (! isSmaller(cover, best)) {
+                cover = lastGasp(best);
+                if (! isSmaller(cover, best))
+                    break;
+            }
+            best = cover;
+        }
+        this.counts = null;
+
+        return best.toArray(new int[best.size()][]);
+    }
+
+    /**
+     * Expands a cube for every value the expression is true for into a prime implicant, from the highest value.
+     * The values are read straight from the bitmap, so no cube is made for a value that the cubes
+     * expanded before it already cover.
+     *
+     * @returns ArrayList<int[]>
+     */
+    private ArrayList<int[]> expandOnSet() {
+        long[] covered = new long[onSet.length];
+        ArrayList<int[]> expanded = new ArrayList<>();
+        for (int word = onSet.length - 1; word >= 0; word--) {
+
+            // Expanding a cube can cover more values of the same long, so they are found again every time
+            for (long left = onSet[word]; left != 0; left = onSet[word] & ~covered[word]) {
+                int value = (word << 6) | (63 - Long.numberOfLeadingZeros(left));
+                int[] prime = expandCube(value, getMask(), covered);
+                mark(covered, prime[0], prime[1]);
+                expanded.add(prime);
+            }
+        }
+
+        return expanded;
+    }
+
+    /**
+     * Expands every cube of a cover into a prime implicant, from the largest cube.
+     * A cube is dropped when the cubes expanded before it already cover all of its values.
+     *
+     * @param cover The cubes to expand
+     * @returns ArrayList<int[]>
+     */
+    private ArrayList<int[]> expand(ArrayList<int[]> cover) {
+        ArrayList<int[]> sorted = new ArrayList<>(cover);
+        sorted.sort((first, second) -> Integer.bitCount(first[1]) - Integer.bitCount(second[1]));
+
+        long[] covered = new long[onSet.length];
+        ArrayList<int[]> expanded = new ArrayList<>();
+        for (int[] cube: sorted) {
+            if (contains(covered, cube[0], cube[1]))
+                continue;
+
+            int[] prime = expandCube(cube[0], cube[1], covered);
+            mark(covered, prime[0], prime[1]);
+            expanded.add(prime);
+        }
+
+        return expanded;
+    }
+
+    /**
+     * Expands a cube into a prime implicant. Each time, the variable that adds the most values
+     * that are not covered yet is dropped. A variable that cannot be dropped once can never be
+     * dropped later, since dropping other variables only adds more values.
+     *
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @param covered The values the cubes expanded before this one cover
+     * @returns int[]
+     */
+    private int[] expandCube(int value, int care, long[] covered) {
+        int blocked = 0;
+        while (true) {
+            long size = 1L << (this.variables.length - Integer.bitCount(care));
+            int free = care & ~blocked;
+
+            // Find the variable that adds the most new values, from the highest bit
+            int bestBit = 0;
+            long bestGain = -1;
+            for (int bit = Integer.highestOneBit(free); bit != 0; bit = Integer.highestOneBit(free & (bit - 1))) {
+                if (! contains(onSet, value ^ bit, care)) {
+                    blocked |= bit;
+                    continue;
+                }
+
+                long gain = size - count(covered, value ^ bit, care);
+                if (gain > bestGain) {
+                    bestBit = bit;
+                    bestGain = gain;
+                }
+            }
+
+            if (bestBit == 0)
+                return new int[] { value, care };
+            value &= ~bestBit;
+            care &= ~bestBit;
+        }
+    }
+
+    /**
+     * Removes the cubes that are not needed to cover every value. The cubes that are the only one
+     * covering one of their values are kept, and the fewest other cubes that cover the values left are
+     * found with a {@link CoverTable}, where each value left is a row and each other cube is a column.
+     *
+     * @param cover The cubes to remove the redundant cubes from
+     * @returns ArrayList<int[]>
+     */
+    private ArrayList<int[]> irredundant(ArrayList<int[]> cover) {
+        Arrays.fill(counts, 0);
+        for (int[] cube: cover)
+            addCounts(cube[0], cube[1], 1);
+
+        // Keep the cubes that are the only one covering one of their values
+        ArrayList<int[]> kept = new ArrayList<>();
+        ArrayList<int[]> redundant = new ArrayList<>();
+        long[] covered = new long[onSet.length];
+        for (int[] cube: cover) {
+            if (isRedundant(cube[0], cube[1]))
+                redundant.add(cube);
+            else {
+                kept.add(cube);
+                mark(covered, cube[0], cube[1]);
+            }
+        }
+
+        // Give every value the kept cubes do not cover its own row
+        HashMap<Integer, Integer> rows = new HashMap<>();
+        BitSet[] columns = new BitSet[redundant.size()];
+        int[] costs = new int[redundant.size()];
+        for (int i = 0; i < columns.length; i++) {
+            int[] cube = redundant.get(i);
+            int dontCare = ~cube[1] & getMask();
+            columns[i] = new BitSet();
+            costs[i] = Integer.bitCount(cube[1]);
+
+            int bits = 0;
+            do {
+                int value = cube[0] | bits;
+                if ((covered[value >>> 6] & (1L << value)) == 0) {
+                    rows.putIfAbsent(value, rows.size());
+                    columns[i].set(rows.get(value));
+                }
+                bits = (bits - dontCare) & dontCare;
+            } while (bits != 0);
+        }
+
+        if (! rows.isEmpty())
+            for (int column: new CoverTable(columns, rows.size(), costs).solve())
+                kept.add(redundant.get(column));
+
+        return kept;
+    }
+
+    /**
+     * Reduces every cube of a cover to the smallest cube holding the values that no other cube covers,
+     * from the largest cube. Each cube is reduced against the cubes that were already reduced,
+     * and a cube with no values of its own is removed.
+     *
+     * @param cover The cubes to reduce
+     * @returns ArrayList<int[]>
+     */
+    private ArrayList<int[]> reduce(ArrayList<int[]> cover) {
+        Arrays.fill(counts, 0);
+        for (int[] cube: cover)
+            addCounts(cube[0], cube[1], 1);
+
+        ArrayList<int[]> sorted = new ArrayList<>(cover);
+        sorted.sort((first, second) -> Integer.bitCount(first[1]) - Integer.bitCount(second[1]));
+
+        ArrayList<int[]> reduced = new ArrayList<>();
+        for (int[] cube: sorted) {
+            int[] smaller = reduceCube(cube[0], cube[1]);
+            if (smaller == null) {
+                addCounts(cube[0], cube[1], -1);
+                continue;
+            }
+
+            // The values the smaller cube leaves out are no longer covered by this cube
+            int dontCare = ~cube[1] & getMask();
+            int bits = 0;
+            do {
+                if (((cube[0] | bits) & smaller[1]) != smaller[0])
+                    counts[getRank(cube[0] | bits)]--;
+                bits = (bits - dontCare) & dontCare;
+            } while (bits != 0);
+
+            reduced.add(smaller);
+        }
+
+        return reduced;
+    }
+
+    /**
+     * Makes one last try at a smaller cover once the cover stops getting smaller. Every cube is reduced
+     * against the whole cover at once, the reduced cubes are expanded against each other only,
+     * and the new prime implicants are added to the cover before removing the redundant cubes again.
+     *
+     * @param cover The cover that stopped getting smaller
+     * @returns ArrayList<int[]>
+     */
+    private ArrayList<int[]> lastGasp(ArrayList<int[]> cover) {
+        Arrays.fill(counts, 0);
+        for (int[] cube: cover)
+            addCounts(cube[0], cube[1], 1);
+
+        ArrayList<int[]> reduced = new ArrayList<>();
+        for (int[] cube: cover) {
+            int[] smaller = reduceCube(cube[0], cube[1]);
+            if (smaller != null)
+                reduced.add(smaller);
+        }
+
+        // Only the prime implicants that are not in the cover yet are added
+        HashSet<Long> found = new HashSet<>();
+        for (int[] cube: cover)
+            found.add(getKey(cube));
+
+        long[] covered = new long[onSet.length];
+        ArrayList<int[]> result = new ArrayList<>(cover);
+        for (int[] cube: reduced) {
+            int[] prime = expandCube(cube[0], cube[1], covered);
+            mark(covered, prime[0], prime[1]);
+            if (found.add(getKey(prime)))
+                result.add(prime);
+        }
+
+        return irredundant(result);
+    }
+
+    /**
+     * Returns the smallest cube holding the values of a cube that no other cube covers, by the counts,
+     * or null if every value of the cube is covered by another cube.
+     *
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @returns int[]
+     */
+    private int[] reduceCube(int value, int care) {
+        int dontCare = ~care & getMask();
+
+        // Find the bits every value only this cube covers agree on
+        int and = getMask();
+        int or = 0;
+        boolean found = false;
+        int bits = 0;
+        do {
+            if (counts[getRank(value | bits)] == 1) {
+                and &= value | bits;
+                or |= value | bits;
+                found = true;
+            }
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+
+        if (! found)
+            return null;
+
+        int smallerCare = ~(and ^ or) & getMask();
+        return new int[] { and & smallerCare, smallerCare };
+    }
+
+    // Helper Methods
+
+    /**
+     * Returns whether or not the first cover has fewer cubes than the second,
+     * or the same amount of cubes with fewer variables.
+     *
+     * @param cover The first cover
+     * @param other The second cover
+     * @returns boolean
+     */
+    private boolean isSmaller(ArrayList<int[]> cover, ArrayList<int[]> other) {
+        if (cover.size() != other.size())
+            return cover.size() < other.size();
+        return getLiterals(cover) < getLiterals(other);
+    }
+
+    /**
+     * Returns whether or not every value of a cube is covered by another cube, by the counts.
+     *
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @returns boolean
+     */
+    private boolean isRedundant(int value, int care) {
+        int dontCare = ~care & getMask();
+        int bits = 0;
+        do {
+            if (counts[getRank(value | bits)] < 2)
+                return false;
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+        return true;
+    }
+
+    /**
+     * Adds an amount to the count of every value of a cube.
+     *
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @param amount The amount to add
+     */
+    private void addCounts(int value, int care, int amount) {
+        int dontCare = ~care & getMask();
+        int bits = 0;
+        do {
+            counts[getRank(value | bits)] += amount;
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+    }
+
+    /**
+     * Returns the index of the count of a value the expression is true for,
+     * which is the amount of values the expression is true for before it.
+     *
+     * @param value The value
+     * @returns int
+     */
+    private int getRank(int value) {
+        return ranks[value >>> 6] + Long.bitCount(onSet[value >>> 6] & ((1L << (value & 63)) - 1));
+    }
+
+    /**
+     * Returns whether or not every value of a cube is set in a bitmap.
+     *
+     * @param bitmap The bitmap
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @returns boolean
+     */
+    private boolean contains(long[] bitmap, int value, int care) {
+        long wordMask = getWordMask(value, care);
+        int dontCare = ~care & getMask() & ~63;
+        int bits = 0;
+        do {
+            if ((bitmap[((value & ~63) | bits) >>> 6] & wordMask) != wordMask)
+                return false;
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+        return true;
+    }
+
+    /**
+     * Returns how many values of a cube are set in a bitmap.
+     *
+     * @param bitmap The bitmap
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @returns long
+     */
+    private long count(long[] bitmap, int value, int care) {
+        long wordMask = getWordMask(value, care);
+        int dontCare = ~care & getMask() & ~63;
+        long count = 0;
+        int bits = 0;
+        do {
+            count += Long.bitCount(bitmap[((value & ~63) | bits) >>> 6] & wordMask);
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+        return count;
+    }
+
+    /**
+     * Sets every value of a cube in a bitmap.
+     *
+     * @param bitmap The bitmap
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     */
+    private void mark(long[] bitmap, int value, int care) {
+        long wordMask = getWordMask(value, care);
+        int dontCare = ~care & getMask() & ~63;
+        int bits = 0;
+        do {
+            bitmap[((value & ~63) | bits) >>> 6] |= wordMask;
+            bits = (bits - dontCare) & dontCare;
+        } while (bits != 0);
+    }
+
+    /**
+     * Returns the bits of a long in a bitmap that hold values of a cube. These are the same for every
+     * long the cube touches, since the lowest 6 bits of a value pick its bit in the long.
+     *
+     * @param value The value mask of the cube
+     * @param care The care mask of the cube
+     * @returns long
+     */
+    private long getWordMask(int value, int care) {
+        long wordMask = 0;
+        int positions = Math.min(64, 1 << this.variables.length);
+        for (int position = 0; position < positions; position++)
+            if (((position ^ value) & care & 63) == 0)
+                wordMask |= 1L << position;
+        return wordMask;
+    }
+
+    // Static Methods
+
+    /**
+     * Returns a cube as a single long, with its value mask in the high bits and its care mask in the low bits.
+     *
+     * @param cube The cube
+     * @returns long
+     */
+    private static long getKey(int[] cube) {
+        return ((long) cube[0] << 32) | (cube[1] & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the total amount of variables in the cubes of a cover.
+     *
+     * @param cover The cover
+     * @returns long
+     */
+    private static long getLiterals(ArrayList<int[]> cover) {
+        long literals = 0;
+        for (int[] cube: cover)
+            literals += Integer.bitCount(cube[1]);
+        return literals;
+    }
+
+}
@@ -9,6 +9,7 @@ public class Evaluation implements Comparable {
 
     // Instance Fields
 
+    private int id;
     private String expression;
     private TruthValue truthValue;
     private boolean value;
@@ -16,20 +17,43 @@ public class Evaluation implements Comparable {
     // Constructors
 
     /**
-     * Creates a new Evaluation object.
+     * Creates a new Evaluation object for a subexpression that has an id.
      *
+     * @param id The id of the LogicElement that this Evaluation object evaluates, or -1 if it has none
      * @param expression The expression that this Evaluation object holds
      * @param truthValue The truthValue that is used in this Evaluation
      * @param value The boolean value this Evaluation evaluations to
      */
-    public Evaluation(String expression, TruthValue truthValue, boolean value) {
+    public Evaluation(int id, String expression, TruthValue truthValue, boolean value) {
+        this.id = id;
         this.expression = expression;
         this.truthValue = truthValue;
         this.value = value;
     }
 
+    /**
+     * Creates a new Evaluation object.
+     *
+     * @param expression The expression that this Evaluation object holds
+     * @param truthValue The truthValue that is used in this Evaluation
+     * @param value The boolean value this Evaluation evaluations to
+     */
+    public Evaluation(String expression, TruthValue truthValue, boolean value) {
+        this(-1, expression, truthValue, value);
+    }
+
     // Getters
 
+    /**
+     * Returns the id of the LogicElement this Evaluation object evaluates, or -1 if it has none.
+     * Evaluations of the same subexpression made by the same {@link logic.NodeFactory} share an id.
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Returns the expression of this Evaluation object holds
      *
@@ -67,14 +91,19 @@ public class Evaluation implements Comparable {
         else {
             Evaluation evaluation = (Evaluation) object;
 
+            // Evaluations of one subexpression share its String, so the expressions are rarely compared
             return (
-                expression.equals(evaluation.expression) &&
-                truthValue.equals(evaluation.truthValue) &&
-                value == evaluation.value
+                value == evaluation.value &&
+                (expression == evaluation.expression || expression.equals(evaluation.expression)) &&
+                truthValue.equals(evaluation.truthValue)
             );
         }
     }
 
+    public int hashCode() {
+        return expression.hashCode() * 2 + (value ? 1 : 0);
+    }
+
     public int compareTo(Object object) {
 
         Evaluation evaluation = (Evaluation) object;
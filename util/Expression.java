@@ -3,9 +3,12 @@ package util;
 import java.util.LinkedList;
 
 import logic.LogicElement;
+import logic.LogicNode;
+import logic.SymbolTable;
 
 /**
  * A class that holds information about an expression used in the parseExpression method.
+ * An Expression never changes once it is made. The arrays it returns are shared, so they must not be modified.
  */
 public class Expression {
 
@@ -13,9 +16,12 @@ public class Expression {
 
     // Instance Fields
 
-    private String[] variables;
-    private LogicElement root;
-    private boolean isSingle;
+    private final String[] variables;
+    private final int[] symbols;
+    private final SymbolTable symbolTable;
+    private final LogicElement root;
+    private final int operatorType;
+    private final boolean isSingle;
 
     // Constructors 
 
@@ -23,14 +29,38 @@ public class Expression {
      * Creates a new Expression object.
      *
      * @param root The root LogicElement of the evaluated Expression
+     * @param variables An array of variables that are in the expression
+     * @param symbols An array of the ids of the variables in the symbolTable
+     * @param symbolTable The SymbolTable the variables were interned into
+     * @param operatorType The type of operator the expression is written with
+     * @param isSingle Whether or not this expression is a single variable expression
+     */
+    public Expression(LogicElement root, String[] variables, int[] symbols, SymbolTable symbolTable, int operatorType, boolean isSingle) {
+        this.root = root;
+        this.variables = variables;
+        this.symbols = symbols;
+        this.symbolTable = symbolTable;
+        this.operatorType = operatorType;
+        this.isSingle = isSingle;
+    }
+
+    /**
+     * Creates a new Expression object written in the LOGIC style. The variables are interned into a new SymbolTable.
+     *
+     * @param root The root LogicElement of the evaluated Expression
      * @param variables A LinkedList of variables that are in the expression
      * @param isSingle Whether or not this expression is a single variable expression
      */
     public Expression(LogicElement root, LinkedList<String> variables, boolean isSingle) {
         this.root = root;
         this.variables = new String[variables.size()];
-        for (int i = 0; i < variables.size(); i++)
+        this.symbols = new int[variables.size()];
+        this.symbolTable = new SymbolTable();
+        for (int i = 0; i < variables.size(); i++) {
             this.variables[i] = variables.get(i);
+            this.symbols[i] = symbolTable.intern(variables.get(i));
+        }
+        this.operatorType = LogicNode.LOGIC;
         this.isSingle = isSingle;
     }
     
@@ -54,6 +84,33 @@ public class Expression {
         return variables;
     }
 
+    /**
+     * Returns an array of the ids of the variables in this Expression object, in the same order as {@link #getVariables()}.
+     *
+     * @return int[]
+     */
+    public int[] getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the SymbolTable the variables of this Expression object were interned into.
+     *
+     * @return SymbolTable
+     */
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Returns the type of operator this Expression object is written with.
+     *
+     * @return int
+     */
+    public int getOperatorType() {
+        return operatorType;
+    }
+
     /**
      * Returns whether or not this Expression object is a single variable expression
      *
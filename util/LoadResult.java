@@ -0,0 +1,92 @@
+package util;
+
+import logic.LogicTree;
+
+/**
+ * A class that holds the result of loading a single line with a {@link logic.ExpressionLoader}.
+ * A line either has a LogicTree or the exception that was thrown while parsing it.
+ */
+public class LoadResult {
+
+    // Instance Fields
+
+    private int lineNumber;
+    private String expression;
+    private LogicTree tree;
+    private RuntimeException error;
+
+    // Constructors
+
+    /**
+     * Creates a new LoadResult object.
+     *
+     * @param lineNumber The line the expression was on, starting at 1
+     * @param expression The expression as it was written on the line
+     * @param tree The LogicTree parsed from the expression, or null if it could not be parsed
+     * @param error The exception thrown while parsing the expression, or null if it was parsed
+     */
+    public LoadResult(int lineNumber, String expression, LogicTree tree, RuntimeException error) {
+        this.lineNumber = lineNumber;
+        this.expression = expression;
+        this.tree = tree;
+        this.error = error;
+    }
+
+    // Getters
+
+    /**
+     * Returns the line the expression of this LoadResult object was on, starting at 1.
+     *
+     * @return int
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the expression of this LoadResult object as it was written on the line.
+     *
+     * @return String
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Returns the LogicTree parsed from the expression, or null if it could not be parsed.
+     *
+     * @return LogicTree
+     */
+    public LogicTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the exception thrown while parsing the expression, or null if it was parsed.
+     * This is either an {@link exceptions.InvalidExpressionException} or an
+     * {@link exceptions.UnbalancedParenthesesException}.
+     *
+     * @return RuntimeException
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Returns whether or not the expression of this LoadResult object was parsed.
+     *
+     * @return boolean
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    // Overridden Methods
+
+    public String toString() {
+        if (isValid())
+            return String.format("Line %d: %s", lineNumber, tree);
+        return String.format("Line %d: %s", lineNumber, error.getMessage());
+    }
+
+}
@@ -0,0 +1,164 @@
+package util;
+
+import java.util.Arrays;
+
+import logic.SymbolTable;
+
+/**
+ * A class that holds the sum of products a minimizer, such as {@link QuineMcCluskey} or {@link Espresso},
+ * finds for an expression and writes it out.
+ * Each product is a cube of 2 bit masks: the care mask has a bit set for every variable that is not
+ * a don't care, and the value mask holds the bits of those variables. The first variable is the highest bit.
+ * The variables are held as ids in a {@link SymbolTable} and are only turned into names
+ * when the function is written out. Every minimizer writes its products in the same order:
+ * the products with the fewest variables first, then from the highest value mask.
+ */
+public abstract class Minimizer {
+
+    // Instance Fields
+
+    protected SymbolTable symbolTable;
+    protected int[] variables;
+    protected int[] values;
+
+    // Constructor
+
+    /**
+     * Creates a new Minimizer object
+     *
+     * @param symbolTable The SymbolTable that holds the names of the variables
+     * @param variables The ids of the variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
+     */
+    protected Minimizer(SymbolTable symbolTable, int[] variables, int[] values) {
+        this.symbolTable = symbolTable;
+        this.variables = variables;
+        this.values = values;
+    }
+
+    // Getters
+
+    /**
+     * Returns the products of the sum that was found, each as an array of its value mask and its care mask.
+     *
+     * @returns int[][]
+     */
+    protected abstract int[][] getCubes();
+
+    // Helper Methods
+
+    /**
+     * Returns the mask with a bit set for every variable.
+     *
+     * @returns int
+     */
+    protected int getMask() {
+        return (int) ((1L << this.variables.length) - 1);
+    }
+
+    // Output Methods
+
+    /**
+     * Returns the expression in a readable form.
+     */
+    public String getFunction() {
+        return getFunction("AND", "OR", "NOT ");
+    }
+
+    /**
+     * Returns the expression in a readable form using the specified operators.
+     *
+     * @param and The AND operator, such as "AND" or "^"
+     * @param or The OR operator, such as "OR" or "v"
+     * @param not The NOT operator, such as "NOT " or "~"
+     * @returns String
+     */
+    public String getFunction(String and, String or, String not) {
+
+        // Get the products in the order they are written
+        int[][] cubes = sort(getCubes());
+
+        // Check if there are no products; Always False
+        if (cubes.length == 0)
+            return "0";
+
+        // Check if there is only 1 product without any variables; Always True
+        else if (cubes.length == 1 && cubes[0][1] == 0)
+            return "1";
+
+        StringBuilder result = new StringBuilder();
+
+        // Iterate through the products
+        for (int i = 0; i < cubes.length; i++) {
+            int value = cubes[i][0];
+            int care = cubes[i][1];
+
+            // Only add parentheses around products with more than 1 variable
+            boolean addParenthesis = Integer.bitCount(care) > 1;
+            if (addParenthesis)
+                result.append("(");
+
+            // Iterate through the variables the product cares about, from the highest bit
+            boolean first = true;
+            for (int j = 0; j < this.variables.length; j++) {
+                int bit = 1 << (this.variables.length - j - 1);
+                if ((care & bit) == 0)
+                    continue;
+
+                if (! first)
+                    result.append(" ").append(and).append(" ");
+                if ((value & bit) == 0)
+                    result.append(not);
+                result.append(symbolTable.getName(variables[j]));
+                first = false;
+            }
+
+            // Add parenthesis if necessary
+            if (addParenthesis)
+                result.append(")");
+
+            // Combine products with an OR statement
+            if (i < cubes.length - 1)
+                result.append(" ").append(or).append(" ");
+        }
+
+        return result.toString();
+    }
+
+    // Static Methods
+
+    /**
+     * Returns a copy of the specified cubes sorted in the order they are written:
+     * the cubes with the fewest variables first, then from the highest value mask, then from the highest care mask.
+     *
+     * @param cubes The cubes, each as an array of its value mask and its care mask
+     * @returns int[][]
+     */
+    protected static int[][] sort(int[][] cubes) {
+        int[][] sorted = cubes.clone();
+        Arrays.sort(sorted, (first, second) -> {
+            int size = Integer.bitCount(first[1]) - Integer.bitCount(second[1]);
+            if (size != 0)
+                return size;
+            if (first[0] != second[0])
+                return Integer.compare(second[0], first[0]);
+            return Integer.compare(second[1], first[1]);
+        });
+        return sorted;
+    }
+
+    /**
+     * Interns every variable name into the specified SymbolTable.
+     *
+     * @param symbolTable The SymbolTable to intern the names into
+     * @param variables The variable names
+     * @returns int[]
+     */
+    protected static int[] intern(SymbolTable symbolTable, String[] variables) {
+        int[] ids = new int[variables.length];
+        for (int i = 0; i < variables.length; i++)
+            ids[i] = symbolTable.intern(variables[i]);
+        return ids;
+    }
+
+}
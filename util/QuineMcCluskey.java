@@ -1,62 +1,68 @@
 package util;
 
-import java.util.LinkedList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import logic.SymbolTable;
 
 /**
- * A class to handle processing the Quine-McCluskey Algorithm
+ * A class to handle processing the Quine-McCluskey Algorithm.
+ * The variables are held as ids in a {@link SymbolTable} and are only turned into names
+ * when the function is written out.
+ *
+ * Each round of combining minterms combines every group with the next one across multiple cores
+ * on a ForkJoinPool. Each pair of groups is combined into its own group of the next round, so the
+ * prime implicants always come out the same no matter how many threads are used.
  */
-public class QuineMcCluskey {
+public class QuineMcCluskey extends Minimizer {
 
     /**
-     * An object to hold information about a minterm when using the Quine-McCluskey Algorithm
+     * An object to hold information about a minterm when using the Quine-McCluskey Algorithm.
+     * The minterm is held as a cube of 2 bit masks: the care mask has a bit set for every variable
+     * that is not a don't care, and the value mask holds the bits of those variables.
+     * The first variable is the highest bit, so the cube {@code 1-0} has the value 100 and the care 101.
      */
     public class Minterm implements Comparable<Minterm> {
 
         // Instance Fields
 
-        private int[] values;
-        private String value;
-        private boolean used;
+        private int value;
+        private int care;
+        private volatile boolean used;
 
         // Constructor
 
         /**
         * Creates a new Minterm object
         *
-        * @param values The values this Minterm covers
-        * @param value The bit value for this Minterm
+        * @param value The bits of the variables that are not don't cares; Every other bit must be 0
+        * @param care The bits of the variables that are not don't cares
         */
-        public Minterm(int[] values, String value) {
-            this.values = values;
+        public Minterm(int value, int care) {
             this.value = value;
+            this.care = care;
             this.used = false;
-
-            // Sort the values in ascending order (bubble sort is okay in this case)
-            for (int i = 0; i < values.length - 1; i++)
-                for (int j = i + 1; j < values.length; j++)
-                    if (values[j] < values[i]) {
-                        int temp = values[j];
-                        values[j] = values[i];
-                        values[i] = temp;
-                    }
         }
 
         /**
         * Returns a String representation of the Minterm.
         */
         public String toString() {
-            String value = "";
-            for (int i = 0; i < this.values.length; i++) {
-                value += this.values[i];
-                if (i < this.values.length - 1)
-                    value += ", ";
+            StringBuilder values = new StringBuilder();
+            for (int value: getValues()) {
+                if (values.length() > 0)
+                    values.append(", ");
+                values.append(value);
             }
             
             return String.format(
                 "m(%s) = %s",
-                value, this.value
+                values, getValue()
             );
         }
 
@@ -70,51 +76,91 @@ public class QuineMcCluskey {
             Minterm minterm = (Minterm) object;
 
             return (
-                Arrays.equals(minterm.values, this.values) &&
-                this.value.equals(minterm.value)
+                minterm.value == this.value &&
+                minterm.care == this.care
             );
         }
 
-        public int compareTo(Minterm minterm) {
+        public int hashCode() {
+            return value * 31 + care;
+        }
 
-            // Lengths of values are the same
-            if (this.values.length == minterm.values.length) {
-
-                // Compare by each value
-                for (int i = 0; i < this.values.length; i++)
-                    if (this.values[i] < minterm.values[i])
-                        return -1;
-                    else if (this.values[i] > minterm.values[i])
-                        return 0;
-                
-                // Minterm is the same; Compare value
-                return this.value.compareTo(minterm.value);
-            }
+        public int compareTo(Minterm minterm) {
 
-            return this.values.length - minterm.values.length;
+            // Smaller cubes come first, then the cubes are compared by their bits
+            int size = Integer.bitCount(minterm.care) - Integer.bitCount(this.care);
+            if (size != 0)
+                return size;
+            if (this.value != minterm.value)
+                return Integer.compare(this.value, minterm.value);
+            return Integer.compare(this.care, minterm.care);
 
         }
 
         // Getters
 
         /**
-        * Returns the values in this Minterm.
+        * Returns the values in this Minterm in ascending order.
+        * These are every value that matches the value mask on the bits of the care mask.
         *
         * @returns int[]
         */
         public int[] getValues() {
+            int dontCare = ~care & getMask();
+            int[] values = new int[1 << Integer.bitCount(dontCare)];
+
+            // Count through every combination of the don't care bits in ascending order
+            int bits = 0;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = value | bits;
+                bits = (bits - dontCare) & dontCare;
+            }
             return values;
         }
 
         /**
-        * Returns the value of this Minterm.
+        * Returns the value of this Minterm, such as "1-0".
         *
         * @returns String
         */
         public String getValue() {
+            int length = variables.length;
+            char[] bits = new char[length];
+            for (int i = 0; i < length; i++) {
+                int bit = 1 << (length - i - 1);
+                bits[i] = (care & bit) == 0 ? '-' : (value & bit) == 0 ? '0' : '1';
+            }
+            return new String(bits);
+        }
+
+        /**
+        * Returns the value mask of this Minterm.
+        *
+        * @returns int
+        */
+        public int getBits() {
             return value;
         }
 
+        /**
+        * Returns the care mask of this Minterm.
+        *
+        * @returns int
+        */
+        public int getCare() {
+            return care;
+        }
+
+        /**
+        * Returns whether or not this Minterm covers the specified value.
+        *
+        * @param value The value to check
+        * @returns boolean
+        */
+        public boolean covers(int value) {
+            return (value & care) == this.value;
+        }
+
         /**
         * Returns whether or not this Minterm has been used.
         *
@@ -136,307 +182,191 @@ public class QuineMcCluskey {
         // Other Methods
 
         /**
-        * Combines 2 Minterms together if they can be combined
+        * Combines 2 Minterms together if they can be combined.
+        * They can only be combined when they have the same don't cares and differ in exactly 1 other bit.
         *
         * @returns Minterm
         */
         public Minterm combine(Minterm minterm) {
 
-            // Check if the value is the same; If so, do nothing
-            if (this.value.equals(minterm.value))
+            // Check if the don't cares are different; If so, do nothing
+            if (this.care != minterm.care)
                 return null;
-            
-            // Check if the values are the same; If so, do nothing
-            if (Arrays.equals(this.values, minterm.values))
-                return null;
-            
-            // Keep track of the difference between the minterms
-            int diff = 0;
-            String result = "";
-
-            // Iterate through the bits in this Minterm's value
-            for (int i = 0; i < this.value.length(); i++) {
-
-                // Check if the current bit value differs from the minterm's bit value
-                if (this.value.charAt(i) != minterm.value.charAt(i)) {
-                    diff += 1;
-                    result += "-";
-                }
-
-                // There is not a difference
-                else
-                    result += this.value.charAt(i);
-                
-                // The difference has exceeded 1
-                if (diff > 1)
-                    return null;
-            }
 
-            // Combine the values of this Minterm with the values of minterm
-            int[] newValues = new int[this.values.length + minterm.values.length];
-            for (int i = 0; i < this.values.length; i++)
-                newValues[i] = this.values[i];
-            for (int i = 0; i < minterm.values.length; i++)
-                newValues[i + this.values.length] = minterm.values[i];
+            // The bits that differ must be exactly 1 bit
+            int diff = this.value ^ minterm.value;
+            if (Integer.bitCount(diff) != 1)
+                return null;
 
-            return new Minterm(newValues, result);
+            return new Minterm(this.value & ~diff, this.care & ~diff);
         }
     }
 
+    // Static Fields
+
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1024;
+
     // Instance Fields
 
-    private String[] variables;
-    private int[] values;
-    private String function;
+    private ForkJoinPool pool;
+    private int sequentialCutoff;
+    private Minterm[] solution;
+    private boolean minimal;
 
     // Constructor
 
     /**
      * Creates a new QM object to process the Quine-McCluskey Algorithm
+     *
+     * @param symbolTable The SymbolTable that holds the names of the variables
+     * @param variables The ids of the variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
+     * @param pool The ForkJoinPool to combine the minterms on
+     * @param sequentialCutoff The amount of minterms below which a range of groups is combined without splitting it
      */
-    public QuineMcCluskey(String[] variables, int[] values) {
-        this.variables = variables;
-        this.values = values;
-        this.function = getFunction(false);
+    public QuineMcCluskey(SymbolTable symbolTable, int[] variables, int[] values, ForkJoinPool pool, int sequentialCutoff) {
+        super(symbolTable, variables, values);
+        this.pool = pool;
+        this.sequentialCutoff = Math.max(sequentialCutoff, 1);
+        this.solution = solve();
     }
 
-    // Helper Methods
-
     /**
-     * Returns the binary representation of the specified value.
+     * Creates a new QM object to process the Quine-McCluskey Algorithm on the common ForkJoinPool
      *
-     * @param value The int value to turn into a binary digit.
-     * @returns String
+     * @param symbolTable The SymbolTable that holds the names of the variables
+     * @param variables The ids of the variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
      */
-    private String getBits(int value) {
+    public QuineMcCluskey(SymbolTable symbolTable, int[] variables, int[] values) {
+        this(symbolTable, variables, values, ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+    }
 
-        // Convert the value into a binary number
-        // Then add extra 0's to the beginning to match how many variables there are
-        String result = Integer.toBinaryString(value);
-        for (int i = result.length(); i < this.variables.length; i++)
-            result = "0" + result;
-        return result;
+    /**
+     * Creates a new QM object to process the Quine-McCluskey Algorithm
+     *
+     * @param variables The variables, with the first variable as the highest bit of each value
+     * @param values The values the expression is true for
+     */
+    public QuineMcCluskey(String[] variables, int[] values) {
+        this(new SymbolTable(), variables, values);
+    }
 
+    /**
+     * Creates a new QM object after interning the variable names into the specified SymbolTable
+     */
+    private QuineMcCluskey(SymbolTable symbolTable, String[] variables, int[] values) {
+        this(symbolTable, intern(symbolTable, variables), values);
     }
 
     // Grouping Methods
 
     /**
-     * Creates the initial grouping for the bits from the values
-     * given to the Quine-McCluskey Algorithm.
+     * Creates the initial grouping for the bits from the values given to the Quine-McCluskey Algorithm.
+     * Group i holds the minterms with i 1's, and each minterm is its own key, so the minterm that
+     * another one can combine with is found by looking it up instead of comparing every pair.
      *
-     * @returns Minterm[][]
+     * @returns LinkedHashMap<Minterm, Minterm>[]
      */
-    private Minterm[][] initialGroup() {
+    private LinkedHashMap<Minterm, Minterm>[] initialGroup() {
 
-        // Keep track of groups by an array of linked lists
-        LinkedList<Minterm>[] groups = new LinkedList[this.variables.length + 1];
+        // Keep track of groups by an array of hash maps in the order the minterms were added
+        LinkedHashMap<Minterm, Minterm>[] groups = new LinkedHashMap[this.variables.length + 1];
         for (int i = 0; i < groups.length; i++)
-            groups[i] = new LinkedList<Minterm>();
+            groups[i] = new LinkedHashMap<Minterm, Minterm>();
 
-        // Iterate through values
+        // Add every value to the group of the number of 1's in it
         for (int value: this.values) {
-
-            // Count number of 1's in value's bit equivalent
-            int count = 0;
-            String bits = getBits(value);
-            for (int i = 0; i < bits.length(); i++)
-                if (bits.charAt(i) == '1')
-                    count += 1;
-            
-            // Add count to proper group
-            groups[count].add(new Minterm(new int[] {value}, bits));
-        }
-
-        // Turn the groups into 2-dimensional array
-        Minterm[][] groupsArray = new Minterm[groups.length][];
-        for (int i = 0; i < groups.length; i++) {
-            groupsArray[i] = new Minterm[groups[i].size()];
-            for (int j = 0; j < groups[i].size(); j++)
-                groupsArray[i][j] = groups[i].get(j);
+            Minterm minterm = new Minterm(value, getMask());
+            groups[Integer.bitCount(value)].putIfAbsent(minterm, minterm);
         }
 
-        return groupsArray;
+        return groups;
 
     }
 
+    // Compare Methods
+
     /**
-     * Creates a power set of all valid prime implicants that covers the rest of an expression.
-     * This is used after the essential prime implicants have been found.
+     * Returns an array of all the prime implicants for the expression.
+     * Every round combines each group with the next one into the groups of the next round, with the pairs
+     * of groups combined in parallel, and the minterms that could not be combined are the prime implicants.
      *
-     * @param values An array of int's that the power set must cover.
-     * @param primeImplicants An array of Minterms for the prime implicants to check for.
      * @returns Minterm[]
      */
-    private Minterm[] powerSet(int[] values, Minterm[] primeImplicants) {
+    private Minterm[] getPrimeImplicants() {
 
-        if (primeImplicants.length == 0)
-            return new Minterm[] {};
+        LinkedHashSet<Minterm> unused = new LinkedHashSet<Minterm>();
+        LinkedHashMap<Minterm, Minterm>[] groups = initialGroup();
 
-        // Get the power set of all the prime implicants
-        LinkedList<LinkedList<Minterm>> powerset = new LinkedList<>();
+        while (groups.length > 0) {
 
-        // Iterate through the decimal values from 1 to 2 ** size - 1
-        for (int i = 1; i < (int)(Math.pow(2, primeImplicants.length)); i++) {
-            LinkedList<Minterm> currentset = new LinkedList<>();
-            
-            // Get the binary value of the decimal value
-            String binValue = Integer.toBinaryString(i);
-            for (int j = binValue.length(); j < primeImplicants.length; j++)
-                binValue = "0" + binValue;
-            
-            // Find which indexes have 1 in the binValue string
-            for (int index = 0; index < binValue.length(); index++)
-                if (binValue.charAt(index) == '1')
-                    currentset.add(primeImplicants[index]);
-            powerset.add(currentset);
-        }
+            // Group i of the next round only holds minterms with i 1's, so it can only come
+            //  from combining group i with group i + 1 and no other pair has to be merged into it
+            LinkedHashMap<Minterm, Minterm>[] newGroups = new LinkedHashMap[groups.length - 1];
+            pool.invoke(new CombineTask(groups, newGroups, 0, newGroups.length));
 
-        // Remove all subsets that do not cover the rest of the implicants
-        LinkedList<Integer> valuesLinkedList = new LinkedList<>();
-        for (int i = 0; i < values.length; i++)
-            valuesLinkedList.add(values[i]);
+            boolean combined = false;
+            for (LinkedHashMap<Minterm, Minterm> group: newGroups)
+                combined |= ! group.isEmpty();
 
-        LinkedList<LinkedList<Minterm>> newPowerset = new LinkedList<>();
-        for (LinkedList<Minterm> subset: powerset) {
+            // Add unused minterms
+            for (LinkedHashMap<Minterm, Minterm> group: groups)
+                for (Minterm term: group.keySet())
+                    if (! term.used())
+                        unused.add(term);
 
-            // Get all the values the set covers
-            LinkedList<Integer> tempValues = new LinkedList<>();
-            for (Minterm implicant: subset)
-                for (int value: implicant.getValues())
-                    if (!tempValues.contains(value) && valuesLinkedList.contains(value))
-                        tempValues.add(value);
-            
-            // Turn the LinkedList into an array
-            int[] tempValuesArray = new int[tempValues.size()];
-            for (int i = 0; i < tempValues.size(); i++)
-                tempValuesArray[i] = tempValues.get(i);
-            
-            // Sort tempValuesArray
-            for (int i = 0; i < tempValuesArray.length; i++)
-                for (int j = i; j < tempValuesArray.length; j++)
-                    if (tempValuesArray[j] < tempValuesArray[i]) {
-                        int temp = tempValuesArray[i];
-                        tempValuesArray[i] = tempValuesArray[j];
-                        tempValuesArray[j] = temp;
-                    }
-
-            // Check if this subset covers the rest of the values
-            if (Arrays.equals(tempValuesArray, values))
-                newPowerset.add(subset);
+            // Nothing was combined, so every minterm left was unused
+            if (! combined)
+                break;
+            groups = newGroups;
         }
-        powerset = newPowerset;
-
-        // Find the minimum amount of implicants that can cover the expression
-        LinkedList<Minterm> minSet = powerset.get(0);
-        for (LinkedList<Minterm> subset: powerset)
-            if (subset.size() < minSet.size())
-                minSet = subset;
-        
-        // Turn the minSet into an array
-        Minterm[] minSetArray = new Minterm[minSet.size()];
-        for (int i = 0; i < minSet.size(); i++)
-            minSetArray[i] = minSet.get(i);
-        
-        return minSetArray;
-    }
-
-    // Compare Methods
 
-    /**
-     * Returns an array of all the prime implicants for the expression.
-     *
-     * @returns Minterm[]
-     */
-    private Minterm[] getPrimeImplicants() {
-        return getPrimeImplicants(initialGroup());
+        return unused.toArray(new Minterm[unused.size()]);
     }
 
     /**
-     * Returns an array of all the prime implicants for the expression.
+     * Combines every minterm of a group with every minterm of the next group it can be combined with.
+     * A minterm can only be combined with the minterm that has the same don't cares and one more 1,
+     * so each of those is looked up instead of comparing the minterm with the whole next group.
      *
-     * @param groups A 2-dimensional array of minterms separated into groups
-     * @returns Minterm[]
+     * @param group The minterms with i 1's
+     * @param next The minterms with i + 1 1's
+     * @returns LinkedHashMap<Minterm, Minterm>
      */
-    private Minterm[] getPrimeImplicants(Minterm[][] groups) {
-
-        // If there is only 1 group, return all minterms in it
-        if (groups.length == 1)
-            return groups[0];
-        
-        // Try comparing the rest
-        else {
-
-            // Only run this if groups.length - 1 is greater than 0
-            if (groups.length - 1 <= 0)
-                return new Minterm[] {};
-                
-            LinkedList<Minterm> unused = new LinkedList<Minterm>();
-            
-            int[] comparisons = new int[(groups.length - 1 > 0)? groups.length - 1: 0];
-            for (int i = 0; i < comparisons.length; i++)
-                comparisons[i] = i;
-
-            LinkedList<Minterm>[] newGroups = new LinkedList[comparisons.length];
-            for (int i = 0; i < newGroups.length; i++)
-                newGroups[i] = new LinkedList<Minterm>();
-
-            for (int compare: comparisons) {
-                Minterm[] group1 = groups[compare];
-                Minterm[] group2 = groups[compare + 1];
-
-                // Compare every term in group1 with every term in group2
-                for (Minterm term1: group1)
-                    for (Minterm term2: group2) {
-
-                        // Try combining it
-                        Minterm term3 = term1.combine(term2);
-
-                        // Only add it to the new group if term3 is not null
-                        //  term3 will only be null if term1 and term2 could not
-                        //  be combined
-                        if (term3 != null) {
-                            term1.use();
-                            term2.use();
-                            if (! newGroups[compare].contains(term3))
-                                newGroups[compare].add(term3);
-                        }
-                    }
-            }
+    private LinkedHashMap<Minterm, Minterm> combineGroups(LinkedHashMap<Minterm, Minterm> group, LinkedHashMap<Minterm, Minterm> next) {
 
-            // Turn the newGroups into a 2-dimensional array
-            Minterm[][] newGroupsArray = new Minterm[newGroups.length][];
-            for (int i = 0; i < newGroups.length; i++) {
-                newGroupsArray[i] = new Minterm[newGroups[i].size()];
-                for (int j = 0; j < newGroups[i].size(); j++)
-                    newGroupsArray[i][j] = newGroups[i].get(j);
-            }
+        LinkedHashMap<Minterm, Minterm> combined = new LinkedHashMap<Minterm, Minterm>();
+        if (group.isEmpty() || next.isEmpty())
+            return combined;
 
-            // Add unused minterms
-            for (Minterm[] group: groups)
-                for (Minterm term: group)
-                    if (!term.used() && !unused.contains(term))
-                        unused.add(term);
-            
-            // Add recursive call
-            for (Minterm term: getPrimeImplicants(newGroupsArray))
-                if (!term.used() && !unused.contains(term))
-                    unused.add(term);
-            
-            // Turn the unused into an array
-            Minterm[] unusedArray = new Minterm[unused.size()];
-            for (int i = 0; i < unused.size(); i++)
-                unusedArray[i] = unused.get(i);
-                
-            return unusedArray;
+        for (Minterm term1: group.keySet()) {
+
+            // Try setting each 0 bit the minterm cares about, from the highest bit
+            int zeros = term1.getCare() & ~term1.getBits();
+            for (int bit = Integer.highestOneBit(zeros); bit != 0; bit = Integer.highestOneBit(zeros & (bit - 1))) {
+                Minterm term2 = next.get(new Minterm(term1.getBits() | bit, term1.getCare()));
+                if (term2 == null)
+                    continue;
+
+                term1.use();
+                term2.use();
+                Minterm term3 = term1.combine(term2);
+                combined.putIfAbsent(term3, term3);
+            }
         }
+
+        return combined;
     }
 
     // Solving Methods
 
     /**
      * Solves for the expression returning the minimal amount of prime implicants needed
-     * to cover the expression.
+     * to cover the expression. Each value the expression is true for is a row of a {@link CoverTable}
+     * and each prime implicant is a column; Between covers of the same size, the one with the fewest
+     * variables is used. Very large tables keep the best cover found within the search limit of the CoverTable,
+     * and {@link #isMinimal()} then returns false.
      *
      * @returns Minterm[]
      */
@@ -445,196 +375,118 @@ public class QuineMcCluskey {
         // Get the prime implicants
         Minterm[] primeImplicants = getPrimeImplicants();
 
-        // Keep track of values with only 1 implicant
-        //  These are the essential prime implicants
-        LinkedList<Minterm> essentialPrimeImplicants = new LinkedList<Minterm>();
-        boolean[] valuesUsed = new boolean[this.values.length];
-        for (int i = 0; i < this.values.length; i++)
-            valuesUsed[i] = false;
-        
-        for (int i = 0; i < values.length; i++) {
-            int value = values[i];
-
-            // Count how many times the current minterm value is used
-            int uses = 0;
-            Minterm last = null;
-            for (Minterm minterm: primeImplicants) {
-                boolean found = false;
-                for (int j = 0; j < minterm.getValues().length; j++)
-                    if (value == minterm.getValues()[j]) {
-                        found = true;
-                        break;
-                    }
-                
-                if (found) {
-                    uses += 1;
-                    last = minterm;
+        // Give every value its own row
+        HashMap<Integer, Integer> rows = new HashMap<>();
+        for (int value: this.values)
+            rows.putIfAbsent(value, rows.size());
+
+        // Find the rows each prime implicant covers, from whichever is smaller: its values or the rows
+        BitSet[] columns = new BitSet[primeImplicants.length];
+        int[] costs = new int[primeImplicants.length];
+        for (int i = 0; i < primeImplicants.length; i++) {
+            Minterm implicant = primeImplicants[i];
+            columns[i] = new BitSet(rows.size());
+            costs[i] = Integer.bitCount(implicant.getCare());
+
+            if (this.variables.length - costs[i] < 31 && (1 << (this.variables.length - costs[i])) <= rows.size()) {
+                for (int value: implicant.getValues()) {
+                    Integer row = rows.get(value);
+                    if (row != null)
+                        columns[i].set(row);
                 }
             }
-            
-            // If there is only 1 use, this is an essential prime implicant
-            if (uses == 1 && !essentialPrimeImplicants.contains(last)) {
-                for (int lv = 0; lv < last.getValues().length; lv++)
-                    for (int v = 0; v < values.length; v++)
-                        if (last.getValues()[lv] == values[v]) {
-                            valuesUsed[v] = true;
-                            break;
-                        }
-                essentialPrimeImplicants.add(last);
-            }
-        }
-
-        // Turn the essentialPrimeImplicants into an array
-        Minterm[] essentialPrimeImplicantsArray = new Minterm[essentialPrimeImplicants.size()];
-        for (int i = 0; i < essentialPrimeImplicants.size(); i++) {
-            essentialPrimeImplicantsArray[i] = essentialPrimeImplicants.get(i);
-        }
-
-        // Check if all values were used
-        boolean found = false;
-        for (int i = 0; i < valuesUsed.length; i++)
-            if (valuesUsed[i]) {
-                found = true;
-                break;
+            else {
+                for (Map.Entry<Integer, Integer> row: rows.entrySet())
+                    if (implicant.covers(row.getKey()))
+                        columns[i].set(row.getValue());
             }
-        
-        // If all values were used, return the essential prime implicants
-        if (!found) {
-            return essentialPrimeImplicantsArray;
-        }
-
-        // Keep track of prime implicants that cover as many values as possible
-        LinkedList<Minterm> newPrimeImplicants = new LinkedList<>();
-        for (int i = 0; i < primeImplicants.length; i++)
-            if (!essentialPrimeImplicants.contains(primeImplicants[i]))
-                newPrimeImplicants.add(primeImplicants[i]);
-        
-        // Turn the new prime implicants into an array
-        primeImplicants = new Minterm[newPrimeImplicants.size()];
-        for (int i = 0; i < newPrimeImplicants.size(); i++) {
-            primeImplicants[i] = newPrimeImplicants.get(i);
-        }
-        
-        // Check if there is only 1 implicant left (very rare but just in case)
-        if (primeImplicants.length == 1) {
-            Minterm[] finalResult = new Minterm[
-                essentialPrimeImplicantsArray.length + primeImplicants.length
-            ];
-            for (int i = 0; i < essentialPrimeImplicantsArray.length; i++)
-                finalResult[i] = essentialPrimeImplicantsArray[i];
-            for (int i = 0; i < primeImplicants.length; i++)
-                finalResult[essentialPrimeImplicantsArray.length + i] = primeImplicants[i];
-            return finalResult;
         }
 
-        // Create a power set from the remaining prime implicants and check which
-        //  combination of prime implicants gets the simplest form
-        LinkedList<Integer> valuesLeftLinkedList = new LinkedList<>();
-        for (int i = 0; i < valuesUsed.length; i++)
-            if (!valuesUsed[i])
-                valuesLeftLinkedList.add(values[i]);
-
-        // Turn the values left into an array
-        int[] valuesLeft = new int[valuesLeftLinkedList.size()];
-        for (int i = 0; i < valuesLeftLinkedList.size(); i++) {
-            valuesLeft[i] = valuesLeftLinkedList.get(i);
-        }
-        
-        // Get the power set
-        Minterm[] powerset = powerSet(valuesLeft, primeImplicants);
-        
-        // Get the final result
-        Minterm[] finalResult = new Minterm[
-            essentialPrimeImplicantsArray.length + powerset.length
-        ];
-
-        for (int i = 0; i < essentialPrimeImplicantsArray.length; i++)
-            finalResult[i] = essentialPrimeImplicantsArray[i];
-        for (int i = 0; i < powerset.length; i++)
-            finalResult[essentialPrimeImplicantsArray.length + i] = powerset[i];
-
-        return finalResult;
+        CoverTable table = new CoverTable(columns, rows.size(), costs);
+        int[] cover = table.solve();
+        this.minimal = table.isMinimal();
+        Minterm[] result = new Minterm[cover.length];
+        for (int i = 0; i < cover.length; i++)
+            result[i] = primeImplicants[cover[i]];
+        return result;
     }
 
-    /**
-     * Returns the expression in a readable form.
-     */
-    public String getFunction() {
-        return function;
-    }
+    // Helper Classes
 
     /**
-     * Returns the expression in a readable form.
+     * A task that combines a range of groups with the group after each of them, splitting the range in half
+     * until it holds fewer minterms than the sequential cutoff. Each pair of groups is combined into its own
+     * place in the next round's groups.
+     * A minterm of a group can be marked as used by both the pair before it and its own pair, which is why
+     * {@link Minterm#use()} only ever sets the flag.
      */
-    private String getFunction(boolean saveVariable) {
-
-        // Get the prime implicants and variables
-        Minterm[] primeImplicants = solve();
-
-        // Check if there are no prime implicants; Always False
-        if (primeImplicants.length == 0)
-            return "0";
-        
-        // Check if there is only 1 prime implicant
-        else if (primeImplicants.length == 1) {
-
-            // Now check if there are just as many hyphens (-) as there are variables
-            int hyphens = 0;
-            for (int i = 0; i < primeImplicants[0].getValue().length(); i++)
-                if (primeImplicants[0].getValue().charAt(i) == '-')
-                    hyphens += 1;
-            
-            if (hyphens == variables.length)
-                return "1";
+    private class CombineTask extends RecursiveAction {
+
+        public static final long serialVersionUID = 60624L;
+
+        private LinkedHashMap<Minterm, Minterm>[] groups;
+        private LinkedHashMap<Minterm, Minterm>[] newGroups;
+        private int from;
+        private int to;
+
+        /**
+         * Creates a new CombineTask object.
+         *
+         * @param groups The groups of this round.
+         * @param newGroups The groups of the next round.
+         * @param from The first group to combine with the group after it (inclusive).
+         * @param to The last group to combine with the group after it (exclusive).
+         */
+        public CombineTask(LinkedHashMap<Minterm, Minterm>[] groups, LinkedHashMap<Minterm, Minterm>[] newGroups, int from, int to) {
+            this.groups = groups;
+            this.newGroups = newGroups;
+            this.from = from;
+            this.to = to;
         }
 
-        String result = "";
+        protected void compute() {
 
-        // Iterate through the prime implicants
-        for (int i = 0; i < primeImplicants.length; i++) {
-            Minterm implicant = primeImplicants[i];
+            // Split the range in half until it is small enough
+            long minterms = 0;
+            for (int i = from; i <= to; i++)
+                minterms += groups[i].size();
 
-            // Determine if parentheses should be added to each minterm's expression
-            int hyphens = 0;
-            boolean addParenthesis = false;
-            for (int j = 0; j < implicant.getValue().length(); j++)
-                if (implicant.getValue().charAt(j) == '-')
-                    hyphens += 1;
-            if (hyphens < this.variables.length - 1)
-                addParenthesis = true;
-            
-            // Add parenthesis if necessary
-            if (addParenthesis)
-                result += "(";
-
-            // Iterate through all bits in the implicants value
-            for (int j = 0; j < implicant.getValue().length(); j++) {
-                String character = String.valueOf(implicant.getValue().charAt(j));
-                if (character.equals("0"))
-                    result += "NOT ";
-                if (!character.equals("-"))
-                    result += variables[j];
-                
-                // Make sure there are no more hyphens
-                hyphens = 0;
-                for (int k = j + 1; k < implicant.getValue().length(); k++)
-                    if (implicant.getValue().charAt(k) == '-')
-                        hyphens += 1;
-                
-                if ((hyphens < implicant.getValue().length() - j - 1) && !character.equals("-"))
-                    result += " AND ";
+            if (to - from > 1 && minterms > sequentialCutoff) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new CombineTask(groups, newGroups, from, middle),
+                    new CombineTask(groups, newGroups, middle, to)
+                );
+                return;
             }
 
-            // Add parenthesis if necessary
-            if (addParenthesis)
-                result += ")";
-
-            // Combine minterm expressions with an OR statement
-            if (i < primeImplicants.length - 1)
-                result += " OR ";
+            for (int i = from; i < to; i++)
+                newGroups[i] = combineGroups(groups[i], groups[i + 1]);
         }
+    }
 
-        return result;
+    // Getters
+
+    /**
+     * Returns whether or not the solution is the smallest one. It is not when the {@link CoverTable}
+     * stopped at {@link CoverTable#DEFAULT_SEARCH_LIMIT} branches and kept the best cover it had found by then.
+     *
+     * @returns boolean
+     */
+    public boolean isMinimal() {
+        return minimal;
+    }
+
+    /**
+     * Returns the prime implicants in the solution, each as an array of its value mask and its care mask.
+     *
+     * @returns int[][]
+     */
+    protected int[][] getCubes() {
+        int[][] cubes = new int[solution.length][];
+        for (int i = 0; i < solution.length; i++)
+            cubes[i] = new int[] { solution[i].getBits(), solution[i].getCare() };
+        return cubes;
     }
 
-}
\ No newline at end of file
+}
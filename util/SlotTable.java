@@ -0,0 +1,92 @@
+package util;
+
+/**
+ * A class that finds the slot of a variable by its id in a {@link logic.SymbolTable}.
+ * The ids are kept in an open addressing table sized by the amount of variables, not by the largest id,
+ * so it stays small even when the SymbolTable is shared by many expressions.
+ *
+ * A SlotTable never changes once it is made, so a {@link logic.LogicTree} makes its SlotTable once
+ * and shares it with every Assignment it makes. When an id is given more than once, its first slot is kept.
+ */
+public class SlotTable {
+
+    // Static Fields
+
+    public static final SlotTable EMPTY = new SlotTable(null);
+
+    private static final int NONE = -1;
+
+    // Instance Fields
+
+    private final int[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    // Constructors
+
+    /**
+     * Creates a new SlotTable object
+     *
+     * @param symbols The ids of the variables, indexed by slot, or null if the variables have none
+     */
+    public SlotTable(int[] symbols) {
+        int length = symbols == null ? 0 : symbols.length;
+
+        // Keep the table at most half full, so a search stops quickly
+        int capacity = Integer.highestOneBit(Math.max(1, length) * 4 - 1);
+        this.keys = new int[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++)
+            keys[i] = NONE;
+
+        for (int slot = 0; slot < length; slot++) {
+            int symbol = symbols[slot];
+            if (symbol < 0)
+                continue;
+
+            // Skip the ids that were already given, so the first slot is kept
+            int index = getIndex(symbol);
+            if (keys[index] == NONE) {
+                keys[index] = symbol;
+                slots[index] = slot;
+            }
+        }
+    }
+
+    // Getters
+
+    /**
+     * Returns the slot of the variable with the specified id, or -1 if there is none.
+     *
+     * @param symbol The id of the variable in a {@link logic.SymbolTable}
+     * @return int
+     */
+    public int get(int symbol) {
+        if (symbol < 0)
+            return NONE;
+
+        int index = getIndex(symbol);
+        return keys[index] == NONE ? NONE : slots[index];
+    }
+
+    // Helper Methods
+
+    /**
+     * Returns the index of the specified id in the table, or of the empty entry where it would go.
+     *
+     * @param symbol The id of the variable
+     * @return int
+     */
+    private int getIndex(int symbol) {
+
+        // Spread the ids, since ids from the same expression are usually close together
+        int hash = symbol * 0x9E3779B9;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (keys[index] != NONE && keys[index] != symbol)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+}
@@ -0,0 +1,207 @@
+package util;
+
+/**
+ * A class that holds a truth table as columns of packed bits.
+ * Each column holds one bit per row, 64 rows to a long word, so any cell can be read
+ * in constant time and whole columns can be combined a word at a time.
+ */
+public class TruthTable {
+
+    // Static Fields
+
+    public static final int WORD_SIZE = 64;
+
+    // Instance Fields
+
+    private String[] labels;
+    private long[][] columns;
+    private int rows;
+
+    // Constructors
+
+    /**
+     * Creates a new TruthTable object
+     *
+     * @param labels The label of each column
+     * @param columns The packed bits of each column; Bit (row % 64) of word (row / 64) holds the value of a row
+     * @param rows The amount of rows in the truth table
+     */
+    public TruthTable(String[] labels, long[][] columns, int rows) {
+        this.labels = labels;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    // Getters
+
+    /**
+     * Returns the labels of the columns in this TruthTable object
+     *
+     * @return String[]
+     */
+    public String[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * Returns the label of the specified column
+     *
+     * @param column The index of the column
+     * @return String
+     */
+    public String getLabel(int column) {
+        return labels[column];
+    }
+
+    /**
+     * Returns the amount of rows in this TruthTable object
+     *
+     * @return int
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the amount of columns in this TruthTable object
+     *
+     * @return int
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the packed bits of the specified column
+     *
+     * @param column The index of the column
+     * @return long[]
+     */
+    public long[] getColumn(int column) {
+        return columns[column];
+    }
+
+    /**
+     * Returns the index of the column with the specified label, or -1 if it does not exist
+     *
+     * @param label The label to search for
+     * @return int
+     */
+    public int indexOf(String label) {
+        for (int i = 0; i < labels.length; i++)
+            if (labels[i].equals(label))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns the value of the cell at the specified row and column
+     *
+     * @param row The row of the cell
+     * @param column The index of the column of the cell
+     * @return boolean
+     */
+    public boolean get(int row, int column) {
+        return getValue(columns[column], row);
+    }
+
+    /**
+     * Returns the values of the specified column as an array
+     *
+     * @param column The index of the column
+     * @return boolean[]
+     */
+    public boolean[] getValues(int column) {
+        boolean[] values = new boolean[rows];
+        for (int i = 0; i < rows; i++)
+            values[i] = getValue(columns[column], i);
+        return values;
+    }
+
+    // Column Methods
+
+    /**
+     * Returns the rows where both columns are True
+     *
+     * @param column1 The index of the first column
+     * @param column2 The index of the second column
+     * @return long[]
+     */
+    public long[] and(int column1, int column2) {
+        long[] left = columns[column1];
+        long[] right = columns[column2];
+        long[] result = new long[left.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = left[i] & right[i];
+        return result;
+    }
+
+    /**
+     * Returns the rows where either column is True
+     *
+     * @param column1 The index of the first column
+     * @param column2 The index of the second column
+     * @return long[]
+     */
+    public long[] or(int column1, int column2) {
+        long[] left = columns[column1];
+        long[] right = columns[column2];
+        long[] result = new long[left.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = left[i] | right[i];
+        return result;
+    }
+
+    /**
+     * Returns the rows where the columns differ
+     *
+     * @param column1 The index of the first column
+     * @param column2 The index of the second column
+     * @return long[]
+     */
+    public long[] xor(int column1, int column2) {
+        long[] left = columns[column1];
+        long[] right = columns[column2];
+        long[] result = new long[left.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = left[i] ^ right[i];
+        return result;
+    }
+
+    /**
+     * Returns the amount of rows where the specified column is True
+     *
+     * @param column The index of the column
+     * @return int
+     */
+    public int count(int column) {
+        return count(columns[column]);
+    }
+
+    // Static Methods
+
+    /**
+     * Returns the value of a row inside of a packed column
+     *
+     * @param column The packed column
+     * @param row The row to get the value of
+     * @return boolean
+     */
+    public static boolean getValue(long[] column, int row) {
+        return ((column[row / WORD_SIZE] >>> (row % WORD_SIZE)) & 1) == 1;
+    }
+
+    /**
+     * Returns the amount of rows that are True in a packed column
+     *
+     * @param column The packed column
+     * @return int
+     */
+    public static int count(long[] column) {
+        int count = 0;
+        for (long word: column)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+}
@@ -2,6 +2,8 @@ package util;
 
 /**
  * A class that holds information about truth values of multiple variables.
+ * When the TruthValue knows the symbol of each variable in a {@link logic.SymbolTable}, a variable is
+ * found by its symbol through a {@link SlotTable} made with the TruthValue, the same way as in an {@link Assignment}.
  */ 
 public class TruthValue {
 
@@ -9,22 +11,51 @@ public class TruthValue {
 
     // Instance Fields
 
-    private String[] variables;
-    private boolean[] values;
+    private final String[] variables;
+    private final int[] symbols;
+    private final SlotTable slotTable;
+    private final boolean[] values;
 
     // Constructors
 
     /**
-     * Creates a new TruthValue object
+     * Creates a new TruthValue object where each variable also has its id in a {@link logic.SymbolTable}.
+     * Variables that know their symbol are then found without comparing names.
      *
      * @param variables An array of variables in this TruthValue object
+     * @param symbols An array of matching symbol ids, or null if the variables have none
      * @param values An array of matching boolean values in this TruthValue object
      */
-    public TruthValue(String[] variables, boolean[] values) {
+    public TruthValue(String[] variables, int[] symbols, boolean[] values) {
+        this(variables, symbols, symbols == null ? SlotTable.EMPTY : new SlotTable(symbols), values);
+    }
+
+    /**
+     * Creates a new TruthValue object that finds its variables through a SlotTable that was already made,
+     * such as the one shared by the rows of a truth table.
+     *
+     * @param variables An array of variables in this TruthValue object
+     * @param symbols An array of matching symbol ids, or null if the variables have none
+     * @param slotTable The slot of each symbol, which must match the symbols
+     * @param values An array of matching boolean values in this TruthValue object
+     */
+    public TruthValue(String[] variables, int[] symbols, SlotTable slotTable, boolean[] values) {
         this.variables = variables;
+        this.symbols = symbols;
+        this.slotTable = slotTable;
         this.values = values;
     }
 
+    /**
+     * Creates a new TruthValue object
+     *
+     * @param variables An array of variables in this TruthValue object
+     * @param values An array of matching boolean values in this TruthValue object
+     */
+    public TruthValue(String[] variables, boolean[] values) {
+        this(variables, null, values);
+    }
+
     // Getters
 
     /**
@@ -34,11 +65,7 @@ public class TruthValue {
      * @return boolean
      */
     public boolean has(String variable) {
-        for (int i = 0; i < variables.length; i++)
-            if (variables[i].equalsIgnoreCase(variable))
-                return true;
-        
-        return false;
+        return indexOf(variable, -1) != -1;
     }
 
     /**
@@ -48,11 +75,66 @@ public class TruthValue {
      * @return boolean
      */
     public boolean get(String variable) {
+        int index = indexOf(variable, -1);
+        if (index == -1)
+            return false;
+        return values[index];
+    }
+
+    /**
+     * Returns the boolean value of the variable at the specified index
+     *
+     * @param index The index of the variable, such as one returned by {@link #indexOf(String, int)}
+     * @return boolean
+     */
+    public boolean get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the index of the specified variable, or -1 if it does not exist.
+     * The slot is checked first so that TruthValue objects made in the same order as
+     * the variables of a {@link logic.LogicTree} are read without a search.
+     *
+     * An exact match is preferred over one that only differs in case.
+     *
+     * @param variable The variable to search for in this TruthValue object
+     * @param slot The index the variable is expected to be at, or -1 if it is unknown
+     * @return int
+     */
+    public int indexOf(String variable, int slot) {
+        if (slot >= 0 && slot < variables.length && variables[slot].equals(variable))
+            return slot;
+
+        for (int i = 0; i < variables.length; i++)
+            if (variables[i].equals(variable))
+                return i;
+
         for (int i = 0; i < variables.length; i++)
             if (variables[i].equalsIgnoreCase(variable))
-                return values[i];
+                return i;
         
-        return false;
+        return -1;
+    }
+
+    /**
+     * Returns the index of the specified variable, or -1 if it does not exist.
+     * The variable is looked up by its symbol first, and its name is only searched for
+     * when this TruthValue object has no variable with that symbol and name.
+     *
+     * @param variable The variable to search for in this TruthValue object
+     * @param symbol The id of the variable in a {@link logic.SymbolTable}, or -1 if it is unknown
+     * @param slot The index the variable is expected to be at, or -1 if it is unknown
+     * @return int
+     */
+    public int indexOf(String variable, int symbol, int slot) {
+
+        // The name is checked in case the symbol comes from a different SymbolTable
+        int index = slotTable.get(symbol);
+        if (index != -1 && variables[index].equals(variable))
+            return index;
+
+        return indexOf(variable, slot);
     }
 
     /**
@@ -64,6 +146,15 @@ public class TruthValue {
         return variables;
     }
 
+    /**
+     * Returns an array of the symbol ids of the variables in this TruthValue object, or null if they have none
+     *
+     * @return int[]
+     */
+    public int[] getSymbols() {
+        return symbols;
+    }
+
     // Overridden Methods
 
     public boolean equals(Object object) {